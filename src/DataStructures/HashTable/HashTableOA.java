@@ -0,0 +1,202 @@
+package HashTable;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import List.ArrayList;
+import List.List;
+
+/**
+ * Implementation of a Map using a hash table with open addressing and linear probing. Instead of a linked list per
+ * bucket, the keys and values are stored in flat arrays, and a key that collides goes to the next free slot; finding a
+ * key reads consecutive slots, with no node to allocate or follow. The hash of every key is kept next to it, so most
+ * slots that hold another key are skipped without calling {@code equals}.
+ *
+ * The capacity is always a power of two and the table is at most half full. The hashes are scrambled before they are
+ * used, with Fibonacci hashing, so that hash functions whose low bits are alike still spread over the whole table.
+ * Removing a key moves the keys that follow it back into place, so the table never holds tombstones.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HashTableOA<K, V> implements Map<K, V> {
+
+	private static final int DEFAULT_SIZE = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private K[] keys;
+	private V[] values;
+	private int[] hashes; //scrambled hash of every key, parallel to keys
+	private int currentSize;
+	private final HashFunction<K> hashFunction;
+
+	public HashTableOA(int initialCapacity, HashFunction<K> hashFunction) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		if(hashFunction == null)
+			throw new IllegalArgumentException("Hash function cannot be null");
+
+		this.hashFunction = hashFunction;
+		/* Room for initialCapacity keys without growing. */
+		int capacity = DEFAULT_SIZE;
+		while(capacity < MAX_CAPACITY && capacity / 2 < initialCapacity)
+			capacity *= 2;
+		allocate(capacity);
+	}
+
+	public HashTableOA(HashFunction<K> hashFunction) {
+		this(DEFAULT_SIZE / 2, hashFunction);
+	}
+
+	@Override
+	public V get(K key) {
+		int slot = find(key);
+		return slot >= 0 ? values[slot] : null;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if(key == null || value == null)
+			throw new IllegalArgumentException("Parameter cannot be null.");
+
+		int hash = hash(key);
+		int mask = keys.length - 1;
+		int slot = hash & mask;
+		while(keys[slot] != null){
+			if(hashes[slot] == hash && keys[slot].equals(key)){ //same key, new value
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		hashes[slot] = hash;
+		if(++currentSize > keys.length / 2)
+			rehash();
+	}
+
+	@Override
+	public V remove(K key) {
+		int slot = find(key);
+		if(slot < 0)
+			return null;
+		V value = values[slot];
+		currentSize--;
+
+		/* Moves back every key of the run after the removed one that would be unreachable from its home slot. */
+		int mask = keys.length - 1;
+		int hole = slot;
+		int next = (slot + 1) & mask;
+		while(keys[next] != null){
+			int home = hashes[next] & mask;
+			/* Whether home lies cyclically outside (hole, next]: then the key at next may fill the hole. */
+			if(((next - home) & mask) >= ((next - hole) & mask)){
+				keys[hole] = keys[next];
+				values[hole] = values[next];
+				hashes[hole] = hashes[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = null;
+		values[hole] = null;
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		return find(key) >= 0;
+	}
+
+	@Override
+	public List<K> getKeys() {
+		List<K> result = new ArrayList<K>(Math.max(1, currentSize));
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != null)
+				result.add(keys[i]);
+		return result;
+	}
+
+	@Override
+	public List<V> getValues() {
+		List<V> result = new ArrayList<V>(Math.max(1, currentSize));
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != null)
+				result.add(values[i]);
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+		currentSize = 0;
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != null)
+				out.printf("(%s, %s)\n", keys[i], values[i]);
+	}
+
+	/* Slot holding the key, or -1 when it isn't in the table. */
+	private int find(K key) {
+		if(key == null)
+			throw new IllegalArgumentException("Parameter cannot be null.");
+		int hash = hash(key);
+		int mask = keys.length - 1;
+		for(int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask)
+			if(hashes[slot] == hash && keys[slot].equals(key))
+				return slot;
+		return -1;
+	}
+
+	private int hash(K key) {
+		/* 2^32 divided by the golden ratio; the high bits of the product, which depend on every bit of the hash, are
+		 * folded into the low bits that pick the slot. */
+		int h = hashFunction.hashCode(key) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void allocate(int capacity) {
+		keys = (K[]) new Object[capacity];
+		values = (V[]) new Object[capacity];
+		hashes = new int[capacity];
+	}
+
+	private void rehash() {
+		if(keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("Hash table can't hold more than " + MAX_CAPACITY / 2 + " keys.");
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		int[] oldHashes = hashes;
+		allocate(keys.length * 2);
+
+		int mask = keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++){
+			if(oldKeys[i] == null)
+				continue;
+			int slot = oldHashes[i] & mask;
+			while(keys[slot] != null)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+			hashes[slot] = oldHashes[i];
+		}
+	}
+
+}
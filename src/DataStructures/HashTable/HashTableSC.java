@@ -73,7 +73,7 @@ public class HashTableSC<K, V> implements Map<K, V> {
 			throw new IllegalArgumentException("Parameter cannot be null.");
 
 		/* First we determine the bucket corresponding to this key */
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
+		int targetBucket = Math.floorMod(hashFunction.hashCode(key), buckets.length);
 		/* Within that bucket there is a linked list, since we're using Separate Chaining */
 		List<BucketNode<K, V>> L = buckets[targetBucket];
 		/* Look for the key within the nodes of that linked list */
@@ -98,7 +98,7 @@ public class HashTableSC<K, V> implements Map<K, V> {
 		}
 
 		/* Determine the bucket corresponding to this key */
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
+		int targetBucket = Math.floorMod(hashFunction.hashCode(key), buckets.length);
 		/* Within that bucket there is a linked list, since we're using Separate Chaining */
 		List<BucketNode<K, V>> L = buckets[targetBucket];
 		/* Finally, add the key/value to the linked list */
@@ -112,7 +112,7 @@ public class HashTableSC<K, V> implements Map<K, V> {
 			throw new IllegalArgumentException("Parameter cannot be null.");
 
 		/* First we determine the bucket corresponding to this key */
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
+		int targetBucket = Math.floorMod(hashFunction.hashCode(key), buckets.length);
 		/* Within that bucket there is a linked list, since we're using Separate Chaining */
 		List<BucketNode<K, V>> L = buckets[targetBucket];
 		/* Iterate over linked list trying to find this the key */
@@ -191,7 +191,7 @@ public class HashTableSC<K, V> implements Map<K, V> {
 		for (List<BucketNode<K, V>> list : oldMap) {
 			for (BucketNode<K, V> old : list) {
 				/* Determine the bucket corresponding to this key */
-				int targetBucket = hashFunction.hashCode(old.getKey()) % buckets.length;
+				int targetBucket = Math.floorMod(hashFunction.hashCode(old.getKey()), buckets.length);
 				/* Within that bucket there is a linked list, since we're using Separate Chaining */
 				List<BucketNode<K, V>> L = buckets[targetBucket];
 				/* Finally, add the key/value to the linked list */
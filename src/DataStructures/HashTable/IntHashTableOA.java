@@ -0,0 +1,194 @@
+package HashTable;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Map from int keys to int values, with the same open addressing and linear probing as {@code HashTableOA}, but with
+ * the keys and values stored as primitives: nothing is boxed, and neither looking a key up nor adding to its value
+ * allocates anything. Built for counting, where {@code add} finds the key and updates its value in a single probe.
+ *
+ * An empty slot is marked by {@code EMPTY}, which therefore can't be used as a key.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class IntHashTableOA {
+
+	public static final int EMPTY = Integer.MIN_VALUE;
+
+	private static final int DEFAULT_SIZE = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private int[] keys;
+	private int[] values;
+	private int currentSize;
+
+	public IntHashTableOA(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		int capacity = DEFAULT_SIZE;
+		while(capacity < MAX_CAPACITY && capacity / 2 < initialCapacity)
+			capacity *= 2;
+		allocate(capacity);
+	}
+
+	public IntHashTableOA() {
+		this(DEFAULT_SIZE / 2);
+	}
+
+	/**
+	 * @param key     The key.
+	 * @param missing Value returned when the key isn't in the table.
+	 * @return The value of the key, or {@code missing}.
+	 */
+	public int get(int key, int missing) {
+		int slot = find(key);
+		return slot >= 0 ? values[slot] : missing;
+	}
+
+	public boolean containsKey(int key) {
+		return find(key) >= 0;
+	}
+
+	public void put(int key, int value) {
+		int slot = slotFor(key);
+		values[slot] = value;
+		if(keys[slot] == EMPTY)
+			insert(slot, key);
+	}
+
+	/**
+	 * Adds to the value of a key, which starts at 0 when the key isn't in the table yet.
+	 *
+	 * @param key   The key.
+	 * @param delta Amount to add.
+	 * @return The new value of the key.
+	 */
+	public int add(int key, int delta) {
+		int slot = slotFor(key);
+		if(keys[slot] == EMPTY){
+			values[slot] = delta;
+			insert(slot, key);
+			return delta;
+		}
+		return values[slot] += delta;
+	}
+
+	/**
+	 * Removes a key, moving the keys that follow it back into place, as in {@code HashTableOA}.
+	 *
+	 * @param key The key.
+	 * @return Whether the key was in the table.
+	 */
+	public boolean remove(int key) {
+		int slot = find(key);
+		if(slot < 0)
+			return false;
+		currentSize--;
+
+		int mask = keys.length - 1;
+		int hole = slot;
+		int next = (slot + 1) & mask;
+		while(keys[next] != EMPTY){
+			int home = hash(keys[next]) & mask;
+			if(((next - home) & mask) >= ((next - hole) & mask)){
+				keys[hole] = keys[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = EMPTY;
+		return true;
+	}
+
+	/**
+	 * @return Every key in the table, in no particular order.
+	 */
+	public int[] keys() {
+		int[] result = new int[currentSize];
+		int n = 0;
+		for(int key : keys)
+			if(key != EMPTY)
+				result[n++] = key;
+		return result;
+	}
+
+	public int size() {
+		return currentSize;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		currentSize = 0;
+	}
+
+	public void print(PrintStream out) {
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] != EMPTY)
+				out.printf("(%d, %d)\n", keys[i], values[i]);
+	}
+
+	/* Slot holding the key, or -1 when it isn't in the table. */
+	private int find(int key) {
+		int mask = keys.length - 1;
+		for(int slot = hash(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask)
+			if(keys[slot] == key)
+				return slot;
+		return -1;
+	}
+
+	/* Slot holding the key, or the empty slot where it goes. */
+	private int slotFor(int key) {
+		if(key == EMPTY)
+			throw new IllegalArgumentException("Key cannot be " + EMPTY + ".");
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while(keys[slot] != EMPTY && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void insert(int slot, int key) {
+		keys[slot] = key;
+		if(++currentSize > keys.length / 2)
+			rehash();
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9; //Fibonacci hashing, as in HashTableOA
+		return h ^ (h >>> 16);
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	private void rehash() {
+		if(keys.length == MAX_CAPACITY)
+			throw new IllegalStateException("Hash table can't hold more than " + MAX_CAPACITY / 2 + " keys.");
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(keys.length * 2);
+
+		int mask = keys.length - 1;
+		for(int i = 0; i < oldKeys.length; i++){
+			if(oldKeys[i] == EMPTY)
+				continue;
+			int slot = hash(oldKeys[i]) & mask;
+			while(keys[slot] != EMPTY)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package HashTable;
+
+/**
+ * Hash function that relies on the key's own {@code hashCode}. For strings it depends on every character and on
+ * their order, unlike {@code SimpleHashFunction}, whose sum of the characters gives every anagram the same hash and
+ * keeps the hashes of short words within a few thousand values. Strings also cache their hash, so hashing the same
+ * key again is free.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class ObjectHashFunction<K> implements HashFunction<K> {
+
+	@Override
+	public int hashCode(K key) {
+		return key.hashCode();
+	}
+
+}
@@ -0,0 +1,130 @@
+package PriorityQueue;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a PriorityQueue using an array backed binary min-heap. The children of the value at index i are at
+ * indexes 2i + 1 and 2i + 2, and no value is smaller than its parent, so the smallest value is always at index 0.
+ * Adding and removing a value move it along a single path of the heap, in O(log n) comparisons, instead of the linear
+ * walk of a {@code SortedLinkedList}.
+ *
+ * Every value is stored with the order in which it was added, used as the tie-breaker when two values compare as
+ * equal, so equal values are removed first in, first out, and the order of removals only depends on the values'
+ * {@code compareTo} and the order of the additions.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class BinaryHeap<E extends Comparable<? super E>> implements PriorityQueue<E> {
+
+	private static final int DEFAULT_SIZE = 11;
+
+	private E[] elements;
+	private long[] order; //when each element was added, parallel to elements
+	private int currentSize;
+	private long added;
+
+	@SuppressWarnings("unchecked")
+	public BinaryHeap(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1.");
+		elements = (E[]) new Comparable[initialCapacity];
+		order = new long[initialCapacity];
+		currentSize = 0;
+	}
+
+	public BinaryHeap() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Adds an element at the end of the heap, then moves it up, swapping it with its parent while it is smaller.
+	 *
+	 * @param e The element to be added into the heap.
+	 */
+	@Override
+	public void add(E e) {
+		if(e == null)
+			throw new IllegalArgumentException("Value cannot be null.");
+		if(currentSize == elements.length){
+			elements = Arrays.copyOf(elements, elements.length * 2);
+			order = Arrays.copyOf(order, order.length * 2);
+		}
+
+		/* Moves the parents down instead of swapping, and writes the new element once, where it belongs. */
+		long position = added++;
+		int index = currentSize++;
+		while(index > 0){
+			int parent = (index - 1) >>> 1;
+			if(!less(e, position, elements[parent], order[parent]))
+				break;
+			elements[index] = elements[parent];
+			order[index] = order[parent];
+			index = parent;
+		}
+		elements[index] = e;
+		order[index] = position;
+	}
+
+	/**
+	 * Removes the element at the root of the heap. The last element takes its place and moves down, swapping it with
+	 * its smallest child while that child is smaller.
+	 *
+	 * @return The smallest element.
+	 */
+	@Override
+	public E removeMin() {
+		E min = min();
+		E last = elements[--currentSize];
+		long lastPosition = order[currentSize];
+		elements[currentSize] = null; //no reference left behind
+
+		int index = 0;
+		int half = currentSize >>> 1; //elements from here on have no children
+		while(index < half){
+			int child = 2 * index + 1;
+			if(child + 1 < currentSize && less(elements[child + 1], order[child + 1], elements[child], order[child]))
+				child++;
+			if(!less(elements[child], order[child], last, lastPosition))
+				break;
+			elements[index] = elements[child];
+			order[index] = order[child];
+			index = child;
+		}
+		if(currentSize > 0){
+			elements[index] = last;
+			order[index] = lastPosition;
+		}
+		return min;
+	}
+
+	@Override
+	public E min() {
+		if(currentSize == 0)
+			throw new IllegalStateException("Priority queue is empty.");
+		return elements[0];
+	}
+
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return currentSize == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(elements, 0, currentSize, null);
+		currentSize = 0;
+	}
+
+	/* Whether a goes before b: the smaller one, or the one added first when they are equal. */
+	private static <E extends Comparable<? super E>> boolean less(E a, long aPosition, E b, long bPosition) {
+		int comparison = a.compareTo(b);
+		return comparison < 0 || (comparison == 0 && aPosition < bPosition);
+	}
+}
@@ -0,0 +1,49 @@
+package PriorityQueue;
+
+public interface PriorityQueue<E extends Comparable<? super E>> {
+
+	/**
+	 * Add a new value to the queue.
+	 * 
+	 * @param e Value to be added to the queue
+	 * @throws IllegalArgumentException If the value e is null
+	 */
+	void add(E e) throws IllegalArgumentException;
+
+	/**
+	 * Remove the smallest value from the queue. Values that compare as equal
+	 * are removed in the order they were added.
+	 * 
+	 * @return The value that was removed from the queue
+	 * @throws IllegalStateException If the queue is empty
+	 */
+	E removeMin() throws IllegalStateException;
+
+	/**
+	 * Return the smallest value in the queue, without removing it.
+	 * 
+	 * @return The smallest value in the queue
+	 * @throws IllegalStateException If the queue is empty
+	 */
+	E min() throws IllegalStateException;
+
+	/**
+	 * Return the amount of values in the queue.
+	 * 
+	 * @return The amount of values in the queue
+	 */
+	int size();
+
+	/**
+	 * Determine whether the queue is empty.
+	 * 
+	 * @return True if the queue is empty, false otherwise.
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Remove all of the values from the queue.
+	 */
+	void clear();
+
+}
@@ -0,0 +1,121 @@
+package benchmarks.hashtable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import HashTable.HashFunction;
+import HashTable.HashTableOA;
+import HashTable.HashTableSC;
+import HashTable.Map;
+import HashTable.ObjectHashFunction;
+import HashTable.SimpleHashFunction;
+
+/**
+ * Benchmarks of the {@code Map} operations of the hash tables, at several sizes and with both hash functions: the
+ * separate chaining {@code HashTableSC} against the open addressing {@code HashTableOA}. {@code SimpleHashFunction}
+ * adds up the characters of the key, so similar keys collide often; {@code ObjectHashFunction} uses
+ * {@code String.hashCode}.
+ *
+ * The keys are strings such as the ones {@code compute_fd_tokens} counts. Lookups go through the keys in a fixed,
+ * shuffled order, so that every key is looked up as often as the others. Every operation but {@code put} leaves the
+ * table as it found it.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+	/* Amount of keys in the table; a power of two, so the next key is found with a mask. */
+	@Param({"16", "1024", "65536"})
+	public int size;
+
+	@Param({"SC", "OA"})
+	public String table;
+
+	@Param({"simple", "object"})
+	public String hash;
+
+	String[] keys;
+	String[] missing;
+	Map<String, Integer> map;
+	int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if (Integer.bitCount(size) != 1)
+			throw new IllegalArgumentException("Size must be a power of two: " + size);
+		Random random = new Random(2021);
+		keys = new String[size];
+		missing = new String[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = "key" + i;
+			missing[i] = "absent" + i;
+		}
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			String swap = keys[i];
+			keys[i] = keys[j];
+			keys[j] = swap;
+		}
+		map = fill();
+	}
+
+	/* A new table holding every key. */
+	private Map<String, Integer> fill() {
+		HashFunction<String> function = hash.equals("simple") ? new SimpleHashFunction<>() : new ObjectHashFunction<>();
+		Map<String, Integer> result = table.equals("SC") ? new HashTableSC<>(function) : new HashTableOA<>(function);
+		for (int i = 0; i < size; i++)
+			result.put(keys[i], i);
+		return result;
+	}
+
+	/* Time to fill a new table with all the keys, growing it from its default capacity. */
+	@Benchmark
+	public Map<String, Integer> put() {
+		return fill();
+	}
+
+	@Benchmark
+	public Integer get() {
+		return map.get(keys[next++ & (size - 1)]);
+	}
+
+	@Benchmark
+	public boolean containsKey() {
+		return map.containsKey(keys[next++ & (size - 1)]);
+	}
+
+	/* A key that isn't there, which has to be compared against every key with the same hash. */
+	@Benchmark
+	public boolean containsMissingKey() {
+		return map.containsKey(missing[next++ & (size - 1)]);
+	}
+
+	/* Removes a key and puts it back, so the size of the table doesn't change. */
+	@Benchmark
+	public Integer removeAndPut() {
+		String key = keys[next++ & (size - 1)];
+		Integer value = map.remove(key);
+		map.put(key, value);
+		return value;
+	}
+}
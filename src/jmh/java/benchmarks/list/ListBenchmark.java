@@ -0,0 +1,79 @@
+package benchmarks.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import List.ArrayList;
+import List.LinkedList;
+import List.List;
+
+/**
+ * Benchmarks of {@code ArrayList} against {@code LinkedList}: building a list, and reading all of it by index against
+ * reading it with its iterator. {@code get} on a {@code LinkedList} walks from its head, and so does appending to it,
+ * so both reading it by index and building it take quadratic time.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+	@Param({"16", "1024", "16384"})
+	public int size;
+
+	@Param({"ArrayList", "LinkedList"})
+	public String list;
+
+	List<Integer> values;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		values = fill();
+	}
+
+	/* A new list holding 0 to size - 1, in order. */
+	private List<Integer> fill() {
+		List<Integer> result = list.equals("ArrayList") ? new ArrayList<>() : new LinkedList<>();
+		for (int i = 0; i < size; i++)
+			result.add(i);
+		return result;
+	}
+
+	@Benchmark
+	public List<Integer> add() {
+		return fill();
+	}
+
+	@Benchmark
+	public long indexedGet() {
+		long sum = 0;
+		for (int i = 0; i < values.size(); i++)
+			sum += values.get(i);
+		return sum;
+	}
+
+	@Benchmark
+	public long iterate() {
+		long sum = 0;
+		for (Integer value : values)
+			sum += value;
+		return sum;
+	}
+}
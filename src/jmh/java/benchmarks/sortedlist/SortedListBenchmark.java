@@ -0,0 +1,99 @@
+package benchmarks.sortedlist;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import SortedList.SortedLinkedList;
+import SortedList.SortedList;
+
+/**
+ * Benchmarks of {@code SortedLinkedList}, which {@code orderFrequencies} fills with one node per distinct character.
+ * Adding walks the list up to the place of the new element, so the order of the input matters: ascending input walks
+ * the whole list every time, descending input never walks it. A replacement sorted list can be compared against this
+ * one by adding it to {@code newList}.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortedListBenchmark {
+	/* Length of the sequence of indices removeIndex cycles through; a power of two, so the next one is found with a mask. */
+	private static final int INDICES = 1 << 12;
+
+	@Param({"16", "1024", "16384"})
+	public int size;
+
+	@Param({"random", "ascending", "descending"})
+	public String order;
+
+	Integer[] values;
+	SortedList<Integer> sorted;
+	/* Random indices into the list, drawn ahead of time so removeIndex doesn't time the random number generator. */
+	int[] indices;
+	int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(2021);
+		values = new Integer[size];
+		for (int i = 0; i < size; i++)
+			values[i] = order.equals("descending") ? size - i : i;
+		if (order.equals("random")) {
+			for (int i = size - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				Integer swap = values[i];
+				values[i] = values[j];
+				values[j] = swap;
+			}
+		}
+		sorted = fill();
+
+		indices = new int[INDICES];
+		for (int i = 0; i < INDICES; i++)
+			indices[i] = random.nextInt(size);
+	}
+
+	private static SortedList<Integer> newList() {
+		return new SortedLinkedList<>();
+	}
+
+	private SortedList<Integer> fill() {
+		SortedList<Integer> result = newList();
+		for (Integer value : values)
+			result.add(value);
+		return result;
+	}
+
+	/* Time to add every value to a new list, in the chosen order. */
+	@Benchmark
+	public SortedList<Integer> add() {
+		return fill();
+	}
+
+	/* Removes the element at a random index and adds it back, so the size of the list doesn't change. */
+	@Benchmark
+	public Integer removeIndex() {
+		Integer value = sorted.removeIndex(indices[next++ & (INDICES - 1)]);
+		sorted.add(value);
+		return value;
+	}
+}
@@ -0,0 +1,93 @@
+package prj02;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the byte codes in memory, over the UTF-8 bytes of the files of {@code inputData} repeated up to each
+ * size: sequential against fork/join counting, one bit stream against independent blocks coded by the common pool,
+ * and one stream against four interleaved streams coded on a single core.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteCodingBenchmark {
+	@Param({"64KB", "1MB", "16MB"})
+	public String size;
+
+	byte[] data;
+	ByteHuffmanCode code;
+	PackedBits single;
+	BlockEncoded blocks;
+	byte[] streams;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		data = Corpus.inputData(Corpus.parseSize(size)).getBytes(StandardCharsets.UTF_8);
+		code = ByteHuffmanCode.fromFrequencies(HuffmanCoding.compute_fd_bytes(data));
+		single = code.encode(data);
+		blocks = BlockEncoder.encode(code, data);
+		streams = code.encodeStreams(data);
+	}
+
+	@Benchmark
+	public int[] count_sequential() {
+		return HuffmanCoding.compute_fd_bytes(data);
+	}
+
+	@Benchmark
+	public int[] count_forkJoin() {
+		return ParallelFrequency.countBytes(data, ParallelFrequency.DEFAULT_THRESHOLD);
+	}
+
+	@Benchmark
+	public PackedBits encode_serial() {
+		return code.encode(data);
+	}
+
+	@Benchmark
+	public BlockEncoded encode_blocks() {
+		return BlockEncoder.encode(code, data);
+	}
+
+	@Benchmark
+	public byte[] encode_streams() {
+		return code.encodeStreams(data);
+	}
+
+	@Benchmark
+	public byte[] decode_serial() {
+		return code.decode(single);
+	}
+
+	@Benchmark
+	public byte[] decode_blocks() {
+		return BlockEncoder.decode(code, blocks);
+	}
+
+	@Benchmark
+	public byte[] decode_streams() {
+		return code.decodeStreams(streams, data.length);
+	}
+}
@@ -0,0 +1,98 @@
+package prj02;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Input texts for the benchmarks: either generated, with a chosen amount of distinct characters and a chosen skew, or
+ * made of the files in {@code inputData}, repeated until they reach the wanted length.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+class Corpus {
+	/* Seed of every generated text, so that every run of a benchmark codes the same input. */
+	static final long SEED = 2021;
+
+	private Corpus() {
+	}
+
+	/**
+	 * @param size A size such as "512", "64KB", "16MB" or "1GB".
+	 * @return The size, in characters.
+	 */
+	static int parseSize(String size) {
+		long multiplier = 1;
+		String number = size;
+		if (size.endsWith("KB"))
+			multiplier = 1 << 10;
+		else if (size.endsWith("MB"))
+			multiplier = 1 << 20;
+		else if (size.endsWith("GB"))
+			multiplier = 1 << 30;
+		if (multiplier > 1)
+			number = size.substring(0, size.length() - 2);
+		long length = Long.parseLong(number) * multiplier;
+		if (length < 1 || length > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Size out of range: " + size);
+		return (int) length;
+	}
+
+	/**
+	 * Generates a text whose characters follow a Zipf distribution: the k-th most frequent character has a frequency
+	 * proportional to 1 / k^skew. A skew of 0 makes every character equally likely; the higher it is, the fewer bits
+	 * the frequent characters get.
+	 *
+	 * @param length   The amount of characters.
+	 * @param alphabet The amount of distinct characters to draw from: printable ASCII first, then Latin-1 and beyond.
+	 * @param skew     The exponent of the distribution.
+	 * @return The text.
+	 */
+	static String generate(int length, int alphabet, double skew) {
+		if (alphabet < 1 || alphabet > 0xD800 - 0xA1 + 95)
+			throw new IllegalArgumentException("Alphabet size out of range: " + alphabet);
+		double[] cumulative = new double[alphabet];
+		double total = 0;
+		for (int k = 0; k < alphabet; k++)
+			cumulative[k] = total += 1 / Math.pow(k + 1, skew);
+
+		SplittableRandom random = new SplittableRandom(SEED);
+		char[] text = new char[length];
+		for (int i = 0; i < length; i++) {
+			int k = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+			text[i] = symbol(k < 0 ? Math.min(-k - 1, alphabet - 1) : k);
+		}
+		return new String(text);
+	}
+
+	/**
+	 * @param length The amount of characters.
+	 * @return The text of every file in {@code inputData}, in name order, separated by line breaks and repeated until
+	 * it is {@code length} characters long.
+	 * @throws IOException If the files can't be read.
+	 */
+	static String inputData(int length) throws IOException {
+		File[] files = new File("inputData").listFiles(File::isFile);
+		if (files == null || files.length == 0)
+			throw new IOException("No input files in " + new File("inputData").getAbsolutePath());
+		Arrays.sort(files);
+		StringBuilder all = new StringBuilder();
+		for (File file : files)
+			all.append(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).append('\n');
+
+		StringBuilder text = new StringBuilder(length);
+		while (text.length() < length)
+			text.append(all, 0, Math.min(all.length(), length - text.length()));
+		return text.toString();
+	}
+
+	/* The k-th character of the alphabet. */
+	private static char symbol(int k) {
+		return k < 95 ? (char) (' ' + k) : (char) (0xA1 + k - 95);
+	}
+}
@@ -0,0 +1,145 @@
+package prj02;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the file formats of {@code HuffmanFileCodec}, over the files of {@code inputData} repeated up to each
+ * size and written to a temporary file: counting through a reader, a byte stream or a memory mapping, then compressing
+ * and decompressing with the character, byte, adaptive and order-1 formats. Must be run from the directory holding
+ * {@code inputData}, as {@code gradle jmh} does.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileCodecBenchmark {
+	@Param({"64KB", "1MB", "16MB"})
+	public String size;
+
+	File input;
+	File output;
+	File text;
+	File bytes;
+	File adaptive;
+	File context;
+	File decompressed;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		input = temporary(".txt");
+		Files.write(input.toPath(), Corpus.inputData(Corpus.parseSize(size)).getBytes(StandardCharsets.UTF_8));
+		output = temporary(".huf");
+		decompressed = temporary(".out");
+
+		text = temporary(".huf");
+		bytes = temporary(".huf");
+		adaptive = temporary(".huf");
+		context = temporary(".huf");
+		HuffmanFileCodec.compressText(input.getPath(), text.getPath());
+		HuffmanFileCodec.compress(input.getPath(), bytes.getPath());
+		HuffmanFileCodec.compressAdaptive(input.getPath(), adaptive.getPath());
+		HuffmanFileCodec.compressContext(input.getPath(), context.getPath());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (File file : new File[] {input, output, text, bytes, adaptive, context, decompressed})
+			file.delete();
+	}
+
+	private static File temporary(String suffix) throws IOException {
+		File file = File.createTempFile("benchmark", suffix);
+		file.deleteOnExit();
+		return file;
+	}
+
+	/* Counts the characters through a UTF-8 reader. */
+	@Benchmark
+	public CompressionStats count_reader() throws IOException {
+		return HuffmanFileCodec.analyzeText(input.getPath());
+	}
+
+	/* Counts the bytes through a buffered stream. */
+	@Benchmark
+	public CompressionStats count_stream() throws IOException {
+		return HuffmanFileCodec.analyze(input.getPath());
+	}
+
+	@Benchmark
+	public long[] count_mapped() throws IOException {
+		try (MappedInput in = new MappedInput(input.getPath())) {
+			return in.histogram();
+		}
+	}
+
+	@Benchmark
+	public long compress_text() throws IOException {
+		return HuffmanFileCodec.compressText(input.getPath(), output.getPath());
+	}
+
+	@Benchmark
+	public long compress_bytes() throws IOException {
+		return HuffmanFileCodec.compress(input.getPath(), output.getPath());
+	}
+
+	@Benchmark
+	public long compress_mapped() throws IOException {
+		return HuffmanFileCodec.compressMapped(input.getPath(), output.getPath());
+	}
+
+	/* A single pass over the input, with the code updated after every byte. */
+	@Benchmark
+	public long compress_adaptive() throws IOException {
+		return HuffmanFileCodec.compressAdaptive(input.getPath(), output.getPath());
+	}
+
+	/* One code per preceding byte. */
+	@Benchmark
+	public long compress_context() throws IOException {
+		return HuffmanFileCodec.compressContext(input.getPath(), output.getPath());
+	}
+
+	@Benchmark
+	public long decompress_text() throws IOException {
+		return HuffmanFileCodec.decompress(text.getPath(), decompressed.getPath());
+	}
+
+	@Benchmark
+	public long decompress_bytes() throws IOException {
+		return HuffmanFileCodec.decompress(bytes.getPath(), decompressed.getPath());
+	}
+
+	@Benchmark
+	public long decompress_adaptive() throws IOException {
+		return HuffmanFileCodec.decompress(adaptive.getPath(), decompressed.getPath());
+	}
+
+	@Benchmark
+	public long decompress_context() throws IOException {
+		return HuffmanFileCodec.decompress(context.getPath(), decompressed.getPath());
+	}
+}
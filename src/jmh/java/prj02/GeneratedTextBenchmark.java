@@ -0,0 +1,32 @@
+package prj02;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code PipelineBenchmark} over generated texts, from 1 KB to 256 MB characters, with small and large alphabets, and
+ * with characters from equally likely to heavily skewed. See {@code Corpus.generate}.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+public class GeneratedTextBenchmark extends PipelineBenchmark {
+	@Param({"1KB", "64KB", "1MB", "16MB", "256MB"})
+	public String size;
+
+	/* Amount of distinct characters. */
+	@Param({"16", "96", "1024"})
+	public int alphabet;
+
+	/* Zipf exponent of the character frequencies: 0 for uniform. */
+	@Param({"0.0", "1.0", "2.0"})
+	public double skew;
+
+	@Override
+	protected String text() {
+		return Corpus.generate(Corpus.parseSize(size), alphabet, skew);
+	}
+}
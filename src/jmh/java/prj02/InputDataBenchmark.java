@@ -0,0 +1,26 @@
+package prj02;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code PipelineBenchmark} over the files of {@code inputData}, repeated up to each size. Must be run from the
+ * directory holding {@code inputData}, as {@code gradle jmh} does.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+public class InputDataBenchmark extends PipelineBenchmark {
+	@Param({"1KB", "64KB", "1MB", "16MB", "256MB"})
+	public String size;
+
+	@Override
+	protected String text() throws IOException {
+		return Corpus.inputData(Corpus.parseSize(size));
+	}
+}
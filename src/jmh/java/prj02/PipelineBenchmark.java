@@ -0,0 +1,84 @@
+package prj02;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import HashTable.Map;
+import Tree.BTNode;
+
+/**
+ * Benchmarks of every step of the {@code HuffmanCoding} pipeline, from counting the characters to decoding them back,
+ * over the input given by the subclass. Every step starts from the results of the previous ones, which are computed
+ * once per trial, so each benchmark times its own step alone.
+ *
+ * The codes are packed, eight bits to a byte, with {@code encode_packed} and {@code decode_packed}, which scale to the
+ * largest inputs; {@code StringCodingBenchmark} times the {@code encode} and {@code decodeHuff} of the original
+ * pipeline, whose string of '0' and '1' characters doesn't.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public abstract class PipelineBenchmark {
+	String text;
+	Map<String, Integer> fD;
+	BTNode<Integer, String> huffmanRoot;
+	Map<String, String> encodedHuffman;
+	PackedBits packed;
+
+	/**
+	 * @return The text to code.
+	 * @throws IOException If the text can't be read.
+	 */
+	protected abstract String text() throws IOException;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		text = text();
+		fD = HuffmanCoding.compute_fd(text);
+		huffmanRoot = HuffmanCoding.huffman_tree(fD);
+		encodedHuffman = HuffmanCoding.huffman_code(huffmanRoot);
+		packed = HuffmanCoding.encode_packed(encodedHuffman, text);
+	}
+
+	@Benchmark
+	public Map<String, Integer> compute_fd() {
+		return HuffmanCoding.compute_fd(text);
+	}
+
+	/* Only depends on the frequencies, so it takes about as long for every size with the same alphabet. */
+	@Benchmark
+	public BTNode<Integer, String> huffman_tree() {
+		return HuffmanCoding.huffman_tree(fD);
+	}
+
+	@Benchmark
+	public Map<String, String> huffman_code() {
+		return HuffmanCoding.huffman_code(huffmanRoot);
+	}
+
+	@Benchmark
+	public PackedBits encode_packed() {
+		return HuffmanCoding.encode_packed(encodedHuffman, text);
+	}
+
+	@Benchmark
+	public String decode_packed() {
+		return HuffmanCoding.decode_packed(packed, encodedHuffman);
+	}
+}
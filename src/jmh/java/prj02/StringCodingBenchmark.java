@@ -0,0 +1,65 @@
+package prj02;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import HashTable.Map;
+
+/**
+ * Benchmarks of {@code encode} and {@code decodeHuff}, which code into a string of '0' and '1' characters. That string
+ * is several times the size of its input, and {@code decodeHuff} takes quadratic time, so the sizes stop at 64 KB;
+ * {@code PipelineBenchmark} covers the packed codes of larger inputs.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringCodingBenchmark {
+	@Param({"1KB", "16KB", "64KB"})
+	public String size;
+
+	@Param({"16", "96", "1024"})
+	public int alphabet;
+
+	@Param({"0.0", "1.0", "2.0"})
+	public double skew;
+
+	String text;
+	Map<String, String> encodedHuffman;
+	String output;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		text = Corpus.generate(Corpus.parseSize(size), alphabet, skew);
+		encodedHuffman = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd(text)));
+		output = HuffmanCoding.encode(encodedHuffman, text);
+	}
+
+	@Benchmark
+	public String encode() {
+		return HuffmanCoding.encode(encodedHuffman, text);
+	}
+
+	@Benchmark
+	public String decodeHuff() {
+		return HuffmanCoding.decodeHuff(output, encodedHuffman);
+	}
+}
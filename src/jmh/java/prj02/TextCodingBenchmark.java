@@ -0,0 +1,113 @@
+package prj02;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import HashTable.Map;
+
+/**
+ * Benchmarks of the alternatives to the character codes of {@code PipelineBenchmark}, over the files of
+ * {@code inputData} repeated up to each size: fork/join counting, multi-symbol table decoding, word level codes with
+ * escaped rare words, and code point codes kept in primitive arrays instead of maps of strings.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class TextCodingBenchmark {
+	@Param({"64KB", "1MB", "16MB"})
+	public String size;
+
+	String text;
+	Map<String, String> encodedHuffman;
+	PackedBits packed;
+	HuffmanDecoder decoder;
+	MultiSymbolDecoder multiDecoder;
+	TokenHuffman tokens;
+	PackedBits packedTokens;
+	CodePointCode codePoints;
+	PackedBits packedCodePoints;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		text = Corpus.inputData(Corpus.parseSize(size));
+		encodedHuffman = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd(text)));
+		packed = HuffmanCoding.encode_packed(encodedHuffman, text);
+		decoder = new HuffmanDecoder(encodedHuffman);
+		multiDecoder = new MultiSymbolDecoder(encodedHuffman);
+		tokens = new TokenHuffman(text);
+		packedTokens = tokens.encode(text);
+		codePoints = CodePointCode.fromHistogram(HuffmanCoding.compute_fd_code_points(text));
+		packedCodePoints = codePoints.encode(text);
+	}
+
+	@Benchmark
+	public int[] countChars_sequential() {
+		return ParallelFrequency.countChars(text, Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public int[] countChars_forkJoin() {
+		return ParallelFrequency.countChars(text, ParallelFrequency.DEFAULT_THRESHOLD);
+	}
+
+	@Benchmark
+	public Map<String, Integer> compute_fd_tokens() {
+		return HuffmanCoding.compute_fd_tokens(text);
+	}
+
+	@Benchmark
+	public CodePointHistogram compute_fd_code_points() {
+		return HuffmanCoding.compute_fd_code_points(text);
+	}
+
+	@Benchmark
+	public String decode_singleSymbol() {
+		return decoder.decode(packed);
+	}
+
+	@Benchmark
+	public String decode_multiSymbol() {
+		return multiDecoder.decode(packed);
+	}
+
+	/* Counting the words and building their code included, as for the characters in PipelineBenchmark. */
+	@Benchmark
+	public PackedBits encode_tokens() {
+		return new TokenHuffman(text).encode(text);
+	}
+
+	@Benchmark
+	public String decode_tokens() {
+		return tokens.decode(packedTokens);
+	}
+
+	@Benchmark
+	public PackedBits encode_codePoints() {
+		return codePoints.encode(text);
+	}
+
+	@Benchmark
+	public String decode_codePoints() {
+		return codePoints.decode(packedCodePoints);
+	}
+}
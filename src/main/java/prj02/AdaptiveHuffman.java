@@ -0,0 +1,334 @@
+package prj02;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import Tree.BTNode;
+
+/**
+ * Single pass, adaptive Huffman coding of bytes, following Vitter's algorithm. Encoder and decoder start from the
+ * same empty tree and update it in the same way after every symbol, so no frequency table has to be computed in
+ * advance or sent along with the bits, and every symbol is coded as soon as it is read: the input can be a pipe or a
+ * socket of unknown length.
+ *
+ * The tree is made of {@code BTNode}s whose key is the weight of the node. Every node also has a number, its position
+ * in an ordering where weights never decrease and, for the same weight, leaves come before internal nodes; the root
+ * has the highest number. A byte that hasn't appeared yet is coded as the path to the NYT ("not yet transmitted")
+ * leaf, followed by the byte in {@code ESCAPE_BITS} bits. The same escape with the value {@code END} marks the end of
+ * the stream, so the decoder knows where to stop without knowing the length in advance.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class AdaptiveHuffman {
+	public static final int END = 256;
+	public static final int ESCAPE_BITS = 9;
+
+	private static final int NYT = -1;
+	private static final int INTERNAL = -2;
+	/* 256 leaves, 255 internal nodes joining them, plus the NYT leaf and its parent. */
+	private static final int MAX_NODES = 2 * 256 + 1;
+	private static final int MAX_WRITE = 32;
+
+	private final Node[] nodes = new Node[MAX_NODES]; //indexed by node number
+	private final Node[] leaves = new Node[256]; //indexed by byte value, null until the byte appears
+	private final Node root;
+	private Node nyt;
+	private final int[] path = new int[MAX_NODES]; //bits of the code being written, from the leaf up
+
+	/* A node of the tree; the weight is kept in an int so that updating it doesn't box. */
+	private static class Node extends BTNode<Integer, String> {
+		private int weight;
+		private int number;
+		private int symbol;
+
+		Node(int number, int symbol) {
+			super(null, label(symbol));
+			this.number = number;
+			this.symbol = symbol;
+		}
+
+		boolean isLeaf() {
+			return getLeftChild() == null;
+		}
+
+		@Override
+		public Integer getKey() {
+			return weight;
+		}
+
+		@Override
+		public String getText() {
+			return weight + ":" + getValue();
+		}
+
+		private static String label(int symbol) {
+			return symbol == NYT ? "NYT" : symbol == INTERNAL ? "" : String.valueOf((char) symbol);
+		}
+	}
+
+	public AdaptiveHuffman() {
+		root = nyt = new Node(MAX_NODES - 1, NYT);
+		nodes[root.number] = root;
+	}
+
+	/**
+	 * @return The root of the current tree, e.g. to print it with {@code BinaryTreePrinter}.
+	 */
+	public BTNode<Integer, String> getRoot() {
+		return root;
+	}
+
+	/**
+	 * Writes the code of a symbol with the current tree, then updates the tree.
+	 *
+	 * @param symbol A byte value, from 0 to 255, or {@code END} to end the stream.
+	 * @param writer Writer that receives the bits.
+	 */
+	public void encode(int symbol, BitWriter writer) {
+		if (symbol < 0 || symbol > END)
+			throw new IllegalArgumentException("Invalid symbol: " + symbol);
+
+		Node leaf = symbol == END ? null : leaves[symbol];
+		if (leaf == null) {
+			writePath(nyt, writer);
+			writer.write(symbol, ESCAPE_BITS);
+			if (symbol == END)
+				return;
+		}
+		else
+			writePath(leaf, writer);
+		update(symbol);
+	}
+
+	/**
+	 * Reads the code of a symbol with the current tree, then updates the tree.
+	 *
+	 * @param reader Reader positioned at the start of a code.
+	 * @return The decoded byte value, or {@code END} at the end of the stream.
+	 * @throws IllegalArgumentException If the bits are not a valid code.
+	 */
+	public int decode(BitReader reader) {
+		Node node = root;
+		while (!node.isLeaf())
+			node = (Node) (reader.readBit() == 0 ? node.getLeftChild() : node.getRightChild());
+
+		int symbol = node.symbol;
+		if (node == nyt) {
+			symbol = reader.peek(ESCAPE_BITS);
+			reader.skip(ESCAPE_BITS);
+			if (symbol == END)
+				return END;
+			if (symbol > END || leaves[symbol] != null)
+				throw new IllegalArgumentException("Invalid escaped symbol: " + symbol);
+		}
+		update(symbol);
+		return symbol;
+	}
+
+	/**
+	 * Compresses a stream of bytes in a single pass. The bytes of every read are encoded and handed to the output
+	 * right away, so data arriving through a pipe or a socket is never held back waiting for more.
+	 *
+	 * @param in  Stream to compress, read until its end.
+	 * @param out Stream that receives the compressed bits.
+	 * @return The amount of bytes compressed.
+	 * @throws IOException If either stream fails.
+	 */
+	public static long compress(InputStream in, OutputStream out) throws IOException {
+		AdaptiveHuffman model = new AdaptiveHuffman();
+		BitWriter writer = new BitWriter(HuffmanFileCodec.CHUNK_SIZE);
+		byte[] chunk = new byte[HuffmanFileCodec.CHUNK_SIZE];
+		long count = 0;
+		int read;
+		while ((read = in.read(chunk)) > 0) {
+			for (int i = 0; i < read; i++)
+				model.encode(chunk[i] & 0xFF, writer);
+			writer.flushTo(out);
+			out.flush();
+			count += read;
+		}
+		model.encode(END, writer);
+		writer.finishTo(out);
+		out.flush();
+		return count;
+	}
+
+	/**
+	 * Decompresses a stream created by {@code compress}, up to its end marker.
+	 *
+	 * @param in  Stream with the compressed bits.
+	 * @param out Stream that receives the original bytes.
+	 * @return The amount of bytes decompressed.
+	 * @throws IOException If either stream fails, or the compressed bits are not valid.
+	 */
+	public static long decompress(InputStream in, OutputStream out) throws IOException {
+		AdaptiveHuffman model = new AdaptiveHuffman();
+		BitReader reader = new BitReader(in);
+		byte[] chunk = new byte[HuffmanFileCodec.CHUNK_SIZE];
+		long count = 0;
+		int n = 0;
+		try {
+			/* Past the end of the stream the reader gives zeros, which may never decode to END. */
+			for (int symbol; (symbol = model.decode(reader)) != END; ) {
+				chunk[n++] = (byte) symbol;
+				if (n == chunk.length) {
+					if (reader.getBitsPastEnd() > 0)
+						throw new IllegalArgumentException("Stream ended before its end marker.");
+					out.write(chunk, 0, n);
+					count += n;
+					n = 0;
+				}
+			}
+			if (reader.getBitsPastEnd() > 0)
+				throw new IllegalArgumentException("Stream ended before its end marker.");
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Corrupted adaptive Huffman stream", e);
+		}
+		out.write(chunk, 0, n);
+		out.flush();
+		return count + n;
+	}
+
+	/**
+	 * Encodes the given bytes, followed by the end marker.
+	 *
+	 * @param data The bytes to encode.
+	 * @return The packed bits.
+	 */
+	public static PackedBits encode(byte[] data) {
+		AdaptiveHuffman model = new AdaptiveHuffman();
+		BitWriter writer = new BitWriter(Math.max(1, data.length));
+		for (byte b : data)
+			model.encode(b & 0xFF, writer);
+		model.encode(END, writer);
+		return writer.finish(data.length);
+	}
+
+	/**
+	 * Decodes the bits generated by {@code encode}.
+	 *
+	 * @param bits The packed bits.
+	 * @return The original bytes.
+	 */
+	public static byte[] decode(PackedBits bits) {
+		AdaptiveHuffman model = new AdaptiveHuffman();
+		BitReader reader = new BitReader(bits);
+		byte[] result = new byte[bits.getSymbolCount()];
+		for (int i = 0; i < result.length; i++) {
+			int symbol = model.decode(reader);
+			if (symbol == END)
+				throw new IllegalArgumentException("Stream ended after " + i + " of " + result.length + " bytes.");
+			result[i] = (byte) symbol;
+		}
+		if (model.decode(reader) != END)
+			throw new IllegalArgumentException("Missing end of stream marker.");
+		return result;
+	}
+
+	/* Writes the path from the root to the given node: 0 for every left child, 1 for every right child. */
+	private void writePath(Node node, BitWriter writer) {
+		int length = 0;
+		for (Node n = node; n != root; n = (Node) n.getParent())
+			path[length++] = n.getParent().getRightChild() == n ? 1 : 0;
+
+		while (length > 0) {
+			int bits = Math.min(length, MAX_WRITE);
+			long code = 0;
+			for (int i = 0; i < bits; i++)
+				code = (code << 1) | path[--length];
+			writer.write(code, bits);
+		}
+	}
+
+	/* Vitter's update: adds one to the weight of the symbol's leaf and of its ancestors, keeping the ordering. */
+	private void update(int symbol) {
+		Node leafToIncrement = null;
+		Node q = leaves[symbol];
+		if (q == null) {
+			/* The NYT leaf becomes an internal node whose children are a new NYT leaf and the symbol's leaf. */
+			q = nyt;
+			Node leaf = new Node(q.number - 1, symbol);
+			nyt = new Node(q.number - 2, NYT);
+			q.symbol = INTERNAL;
+			q.setValue(Node.label(INTERNAL));
+			q.setLeftChild(nyt);
+			q.setRightChild(leaf);
+			nyt.setParent(q);
+			leaf.setParent(q);
+			nodes[leaf.number] = leaf;
+			nodes[nyt.number] = nyt;
+			leaves[symbol] = leaf;
+			leafToIncrement = leaf;
+		}
+		else {
+			swap(q, leader(q));
+			if (q.getParent() == nyt.getParent()) {
+				/* The parent has the same weight as the leaf, so it has to be moved first. */
+				leafToIncrement = q;
+				q = (Node) q.getParent();
+			}
+		}
+
+		while (q != null)
+			q = slideAndIncrement(q);
+		if (leafToIncrement != null)
+			slideAndIncrement(leafToIncrement);
+	}
+
+	/* Highest numbered node with the same weight and kind (leaf or internal) as the given one. */
+	private Node leader(Node node) {
+		int k = node.number;
+		while (k + 1 < MAX_NODES && nodes[k + 1].weight == node.weight && nodes[k + 1].isLeaf() == node.isLeaf())
+			k++;
+		return nodes[k];
+	}
+
+	/*
+	 * Moves a node past the block that must follow it once its weight grows by one (internal nodes of the same weight
+	 * for a leaf, leaves of the next weight for an internal node), then increments its weight. Returns the next node
+	 * to increment: the new parent of a leaf, or the former parent of an internal node.
+	 */
+	private Node slideAndIncrement(Node p) {
+		Node formerParent = (Node) p.getParent();
+		int weight = p.weight;
+		boolean leaf = p.isLeaf();
+		while (p.number + 1 < MAX_NODES) {
+			Node next = nodes[p.number + 1];
+			if (leaf ? next.isLeaf() || next.weight != weight : !next.isLeaf() || next.weight != weight + 1)
+				break;
+			swap(p, next);
+		}
+		p.weight = weight + 1;
+		return leaf ? (Node) p.getParent() : formerParent;
+	}
+
+	/* Exchanges the places of two nodes in the tree and in the ordering; neither can be an ancestor of the other. */
+	private void swap(Node a, Node b) {
+		if (a == b)
+			return;
+		BTNode<Integer, String> aParent = a.getParent(), bParent = b.getParent();
+		boolean aLeft = aParent.getLeftChild() == a, bLeft = bParent.getLeftChild() == b;
+		if (aLeft)
+			aParent.setLeftChild(b);
+		else
+			aParent.setRightChild(b);
+		if (bLeft)
+			bParent.setLeftChild(a);
+		else
+			bParent.setRightChild(a);
+		a.setParent(bParent);
+		b.setParent(aParent);
+
+		int number = a.number;
+		a.number = b.number;
+		b.number = number;
+		nodes[a.number] = a;
+		nodes[b.number] = b;
+	}
+}
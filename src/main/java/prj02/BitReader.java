@@ -0,0 +1,149 @@
+package prj02;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Reads bits from a byte array, most significant bit first, the same order in which {@code BitWriter} writes them.
+ * The next bits are kept left aligned in a 64-bit buffer that is refilled a byte at a time, so that peeking at the
+ * next few bits of the input is a single shift. Reading past the end of the data returns zeros; it is up to the caller
+ * to know how many bits are meaningful, or to check {@code getBitsPastEnd} when it doesn't, as with a stream that
+ * was cut short.
+ *
+ * The bytes can also come from a stream, read a buffer at a time, so that inputs of any size are read in constant
+ * memory. Since reading happens inside {@code peek}, errors from the stream are thrown as {@code UncheckedIOException}.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class BitReader {
+	/* Longest peek that is guaranteed to be served by a single refill. */
+	public static final int MAX_PEEK = 56;
+
+	private static final int STREAM_BUFFER_SIZE = 1 << 16;
+	private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private final byte[] bytes;
+	private final InputStream in; //null when reading from an array
+	private int limit;
+	private int position; //next byte to move into the buffer
+	private long buffer; //next bits, left aligned
+	private int available; //amount of bits in the buffer
+	private long consumed; //amount of bits read so far
+	private long loaded; //amount of bits of actual data moved into the buffer so far
+
+	public BitReader(byte[] bytes, int offset, int length) {
+		if (bytes == null)
+			throw new IllegalArgumentException("Bytes cannot be null.");
+		if (offset < 0 || length < 0 || offset + length > bytes.length)
+			throw new IndexOutOfBoundsException("Can't read out of bounds range: " + offset + ", " + length);
+		this.bytes = bytes;
+		this.in = null;
+		this.position = offset;
+		this.limit = offset + length;
+	}
+
+	public BitReader(InputStream in) {
+		if (in == null)
+			throw new IllegalArgumentException("Input stream cannot be null.");
+		this.bytes = new byte[STREAM_BUFFER_SIZE];
+		this.in = in;
+	}
+
+	public BitReader(PackedBits bits) {
+		this(bits.getBytes(), 0, bits.getByteLength());
+	}
+
+	/**
+	 * Returns the next {@code length} bits without consuming them.
+	 *
+	 * @param length Amount of bits to look at, between 1 and {@code MAX_PEEK}.
+	 * @return The next bits, right aligned.
+	 */
+	public int peek(int length) {
+		if (available < length)
+			refill();
+		return (int) (buffer >>> (64 - length));
+	}
+
+	/**
+	 * Same as {@code peek}, for up to {@code MAX_PEEK} bits at once.
+	 */
+	public long peekLong(int length) {
+		if (available < length)
+			refill();
+		return buffer >>> (64 - length);
+	}
+
+	/**
+	 * Consumes bits that were already looked at with {@code peek}.
+	 *
+	 * @param length Amount of bits to consume, at most the amount that was peeked.
+	 */
+	public void skip(int length) {
+		buffer <<= length;
+		available -= length;
+		consumed += length;
+	}
+
+	public int readBit() {
+		int bit = peek(1);
+		skip(1);
+		return bit;
+	}
+
+	/**
+	 * @return The amount of bits read so far, including the ones that fell past the end of the data.
+	 */
+	public long getBitPosition() {
+		return consumed;
+	}
+
+	/**
+	 * @return The amount of bits read so far that were padding past the end of the data, 0 while every bit read was
+	 * part of it. For a stream, a positive value means that it ended before everything that was read.
+	 */
+	public long getBitsPastEnd() {
+		return Math.max(0, consumed - loaded);
+	}
+
+	private void refill() {
+		if (position + 8 <= limit) {
+			/* Fast path: load the next 8 bytes at once and keep as many whole bytes as fit in the buffer. */
+			long word = (long) LONG_VIEW.get(bytes, position);
+			int whole = (64 - available) >>> 3;
+			buffer |= word >>> available;
+			position += whole;
+			available += whole << 3;
+			loaded += whole << 3;
+			buffer &= available == 64 ? -1L : ~(-1L >>> available); //drop the bits of the partially kept byte
+			return;
+		}
+		while (available <= MAX_PEEK) {
+			if (position == limit && in != null)
+				readMore();
+			long next = 0; //pad with zeros past the end
+			if (position < limit) {
+				next = bytes[position++] & 0xFF;
+				loaded += 8;
+			}
+			buffer |= next << (MAX_PEEK - available);
+			available += 8;
+		}
+	}
+
+	private void readMore() {
+		try {
+			int read = in.read(bytes, 0, bytes.length);
+			position = 0;
+			limit = Math.max(read, 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
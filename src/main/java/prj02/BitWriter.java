@@ -0,0 +1,150 @@
+package prj02;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes variable length codes into a growing byte array, most significant bit first. Bits are first gathered in a
+ * 64-bit accumulator and only moved into the byte array a whole byte at a time, so writing a code costs a couple of
+ * shifts instead of one operation per bit.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class BitWriter {
+	private static final int DEFAULT_SIZE = 64;
+	/* Longest code that can be added to the accumulator at once, since at most 7 bits remain after draining it. */
+	private static final int MAX_WRITE = 57;
+
+	private byte[] buffer;
+	private int position; //amount of bytes already moved into the buffer
+	private long accumulator; //pending bits, right aligned
+	private int pending; //amount of pending bits in the accumulator
+	private long bitCount;
+
+	public BitWriter(int initialCapacity) {
+		if (initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1.");
+		buffer = new byte[initialCapacity];
+	}
+
+	public BitWriter() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Appends the lowest {@code length} bits of {@code code}, most significant bit first. Codes longer than what fits
+	 * in the accumulator are split in two writes.
+	 *
+	 * @param code   The bits to write, right aligned.
+	 * @param length The amount of bits to write, between 0 and 64.
+	 */
+	public void write(long code, int length) {
+		if (length > MAX_WRITE || length < 0) {
+			writeLong(code, length);
+			return;
+		}
+		if (pending + length > 64)
+			drain();
+
+		accumulator = (accumulator << length) | (code & ((1L << length) - 1));
+		pending += length;
+		bitCount += length;
+	}
+
+	/* Codes that don't fit in the accumulator at once are written in two halves. */
+	private void writeLong(long code, int length) {
+		if (length < 0 || length > 64)
+			throw new IllegalArgumentException("Can't write " + length + " bits at once.");
+		write(code >>> 32, length - 32);
+		write(code, 32);
+	}
+
+	/**
+	 * Writes a single bit.
+	 *
+	 * @param bit 0 or 1.
+	 */
+	public void writeBit(int bit) {
+		write(bit, 1);
+	}
+
+	/**
+	 * @return The amount of bits written so far.
+	 */
+	public long getBitCount() {
+		return bitCount;
+	}
+
+	/**
+	 * Moves every pending bit into the buffer, padding the last byte with zeros, and returns the result. The writer
+	 * can't be used after calling this method.
+	 *
+	 * @param symbolCount The amount of symbols that were written, stored alongside the bits.
+	 * @return The packed bits that were written.
+	 */
+	public PackedBits finish(int symbolCount) {
+		drain();
+		if (pending > 0) {
+			ensureCapacity(position + 1);
+			buffer[position++] = (byte) (accumulator << (8 - pending));
+			pending = 0;
+		}
+		return new PackedBits(position == buffer.length ? buffer : Arrays.copyOf(buffer, position), bitCount, symbolCount);
+	}
+
+	/**
+	 * Writes every complete byte gathered so far to the given stream and empties the buffer, so that the writer can
+	 * encode an input of any size in constant memory. Up to 7 bits stay pending until the next call.
+	 *
+	 * @param out Stream that receives the bytes.
+	 * @throws IOException If the stream can't be written.
+	 */
+	public void flushTo(OutputStream out) throws IOException {
+		drain();
+		out.write(buffer, 0, position);
+		position = 0;
+	}
+
+	/**
+	 * Pads the pending bits with zeros up to a whole byte and writes everything left to the given stream. The writer
+	 * can't be used after calling this method.
+	 *
+	 * @param out Stream that receives the bytes.
+	 * @return The total amount of bits written, without the padding.
+	 * @throws IOException If the stream can't be written.
+	 */
+	public long finishTo(OutputStream out) throws IOException {
+		drain();
+		if (pending > 0) {
+			buffer[position++] = (byte) (accumulator << (8 - pending));
+			pending = 0;
+		}
+		out.write(buffer, 0, position);
+		position = 0;
+		return bitCount;
+	}
+
+	/**
+	 * @return The amount of bytes gathered in the buffer, waiting for {@code finish} or {@code flushTo}.
+	 */
+	public int getBufferedBytes() {
+		return position;
+	}
+
+	/* Moves every complete byte from the accumulator into the buffer, leaving at most 7 pending bits. */
+	private void drain() {
+		ensureCapacity(position + 8);
+		while (pending >= 8) {
+			pending -= 8;
+			buffer[position++] = (byte) (accumulator >>> pending);
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > buffer.length)
+			buffer = Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
+	}
+}
@@ -0,0 +1,88 @@
+package prj02;
+
+/**
+ * Bytes encoded in independent blocks by {@code BlockEncoder}. Every block holds the codes of {@code blockSize}
+ * consecutive input bytes (the last one may hold fewer) and starts on a byte boundary, padded with zeros. The block
+ * index records where each block starts, in bits, so that any block can be decoded without decoding the ones before
+ * it, and all of them can be decoded at the same time.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class BlockEncoded {
+	private final byte[] bytes;
+	private final long[] blockOffsets;
+	private final long[] blockBits;
+	private final int blockSize;
+	private final long symbolCount;
+
+	/**
+	 * @param bytes        The encoded blocks, one after the other.
+	 * @param blockOffsets The bit offset in {@code bytes} where every block starts.
+	 * @param blockBits    The amount of bits of every block, without its padding.
+	 * @param blockSize    The amount of symbols in every block but the last one.
+	 * @param symbolCount  The total amount of symbols encoded.
+	 */
+	public BlockEncoded(byte[] bytes, long[] blockOffsets, long[] blockBits, int blockSize, long symbolCount) {
+		if (blockSize < 1)
+			throw new IllegalArgumentException("Block size must be at least 1.");
+		if (blockOffsets.length != blockBits.length || blockOffsets.length != (symbolCount + blockSize - 1) / blockSize)
+			throw new IllegalArgumentException("Block index doesn't match " + symbolCount + " symbols in blocks of " + blockSize);
+
+		this.bytes = bytes;
+		this.blockOffsets = blockOffsets;
+		this.blockBits = blockBits;
+		this.blockSize = blockSize;
+		this.symbolCount = symbolCount;
+	}
+
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	public int getBlockCount() {
+		return blockOffsets.length;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	public long getSymbolCount() {
+		return symbolCount;
+	}
+
+	/**
+	 * @param block Index of the block.
+	 * @return The bit offset where the block starts.
+	 */
+	public long getBlockOffset(int block) {
+		return blockOffsets[block];
+	}
+
+	/**
+	 * @param block Index of the block.
+	 * @return The amount of bits in the block, without its padding.
+	 */
+	public long getBlockBits(int block) {
+		return blockBits[block];
+	}
+
+	/**
+	 * @param block Index of the block.
+	 * @return The amount of symbols encoded in the block.
+	 */
+	public int getBlockSymbols(int block) {
+		return (int) Math.min(blockSize, symbolCount - (long) block * blockSize);
+	}
+
+	/**
+	 * @param block Index of the block.
+	 * @return A reader positioned at the start of the block, limited to the block's bytes.
+	 */
+	public BitReader reader(int block) {
+		int start = (int) (blockOffsets[block] >>> 3);
+		return new BitReader(bytes, start, (int) ((blockBits[block] + 7) >>> 3));
+	}
+}
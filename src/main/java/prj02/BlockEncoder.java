@@ -0,0 +1,93 @@
+package prj02;
+
+import java.util.stream.IntStream;
+
+/**
+ * Block parallel encoding and decoding of bytes. The input is split into blocks of a fixed amount of bytes, and every
+ * block is encoded by a worker of the common {@code ForkJoinPool} into its own bit buffer, with the same shared (and
+ * read only) code. The buffers are then copied one after the other, and their offsets recorded in a block index, so
+ * that decoding can be split across the workers the same way.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class BlockEncoder {
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+	/**
+	 * Encodes the input in blocks, in parallel.
+	 *
+	 * @param code      The code of every byte value.
+	 * @param data      The bytes to encode.
+	 * @param blockSize The amount of bytes in every block.
+	 * @return The encoded blocks with their index.
+	 */
+	public static BlockEncoded encode(ByteHuffmanCode code, byte[] data, int blockSize) {
+		if (blockSize < 1)
+			throw new IllegalArgumentException("Block size must be at least 1.");
+		int blocks = (int) (((long) data.length + blockSize - 1) / blockSize);
+
+		PackedBits[] encoded = new PackedBits[blocks];
+		IntStream.range(0, blocks).parallel().forEach(b -> {
+			int start = b * blockSize;
+			int length = Math.min(blockSize, data.length - start);
+			BitWriter writer = new BitWriter(Math.max(1, length));
+			code.encode(data, start, length, writer);
+			encoded[b] = writer.finish(length);
+		});
+
+		/* Every block starts where the padded bytes of the one before end. */
+		long[] offsets = new long[blocks];
+		long[] bits = new long[blocks];
+		long totalBytes = 0;
+		for (int b = 0; b < blocks; b++) {
+			offsets[b] = totalBytes * 8;
+			bits[b] = encoded[b].getBitLength();
+			totalBytes += encoded[b].getByteLength();
+		}
+		if (totalBytes > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Encoded blocks don't fit in a single array: " + totalBytes + " bytes");
+
+		byte[] bytes = new byte[(int) totalBytes];
+		IntStream.range(0, blocks).parallel().forEach(b ->
+				System.arraycopy(encoded[b].getBytes(), 0, bytes, (int) (offsets[b] >>> 3), encoded[b].getByteLength()));
+		return new BlockEncoded(bytes, offsets, bits, blockSize, data.length);
+	}
+
+	public static BlockEncoded encode(ByteHuffmanCode code, byte[] data) {
+		return encode(code, data, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Decodes every block, in parallel, using the block index.
+	 *
+	 * @param code    The code the blocks were encoded with.
+	 * @param encoded The encoded blocks.
+	 * @return The original bytes.
+	 */
+	public static byte[] decode(ByteHuffmanCode code, BlockEncoded encoded) {
+		if (encoded.getSymbolCount() > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Decoded bytes don't fit in a single array: " + encoded.getSymbolCount());
+		byte[] result = new byte[(int) encoded.getSymbolCount()];
+		IntStream.range(0, encoded.getBlockCount()).parallel().forEach(b ->
+				decodeBlock(code, encoded, b, result, b * encoded.getBlockSize()));
+		return result;
+	}
+
+	/**
+	 * Decodes a single block.
+	 *
+	 * @param code    The code the blocks were encoded with.
+	 * @param encoded The encoded blocks.
+	 * @param block   Index of the block to decode.
+	 * @param dest    Array that receives the decoded bytes.
+	 * @param offset  Position in {@code dest} of the first decoded byte.
+	 */
+	public static void decodeBlock(ByteHuffmanCode code, BlockEncoded encoded, int block, byte[] dest, int offset) {
+		BitReader reader = encoded.reader(block);
+		code.decode(reader, dest, offset, encoded.getBlockSymbols(block));
+		if (reader.getBitPosition() > encoded.getBlockBits(block))
+			throw new IllegalArgumentException("Block " + block + " ended before all of its bytes were decoded.");
+	}
+}
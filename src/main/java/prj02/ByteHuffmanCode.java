@@ -0,0 +1,276 @@
+package prj02;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Huffman code over the 256 byte values, for compressing any kind of file without decoding it into characters. The
+ * code is kept in flat arrays indexed by the unsigned value of the byte, so encoding a byte is two array reads and
+ * no allocation.
+ *
+ * Codes are limited to {@code MAX_CODE_LENGTH} bits with {@code PackageMerge}, which lets the decoding table cover
+ * every code: decoding a byte is always a single table lookup, without a slow path for long codes.
+ *
+ * A range can also be encoded as {@code STREAMS} interleaved streams, each holding the codes of one quarter of the
+ * range, behind a jump table with the amount of bits of every stream. The streams start on byte boundaries, one after
+ * the other:
+ *
+ * <pre>
+ * jump table  bits of every stream (4 each, big endian)
+ * streams     the packed codes of every stream, padded to a whole byte
+ * </pre>
+ *
+ * Decoding a single stream is one long chain of dependent steps, since the position of every code depends on the
+ * length of the one before it. The streams don't depend on each other, so decoding a byte of each in the same loop
+ * gives the processor four independent chains to run side by side.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class ByteHuffmanCode {
+	public static final int MAX_CODE_LENGTH = HuffmanDecoder.MAX_TABLE_BITS;
+	public static final int STREAMS = 4;
+	public static final int JUMP_TABLE_BYTES = 4 * STREAMS;
+
+	private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private final int[] codes = new int[256];
+	private final byte[] lengths = new byte[256];
+	/* Each entry is (byte << 4) | code length, indexed by the next MAX_CODE_LENGTH bits; 0 for invalid codes. */
+	private final char[] table = new char[1 << MAX_CODE_LENGTH];
+
+	/**
+	 * Builds the code from the given code lengths, assigning canonical codes.
+	 *
+	 * @param lengths The code length of every byte value; 0 for bytes that don't appear.
+	 * @throws IllegalArgumentException If a length is longer than {@code MAX_CODE_LENGTH}, or the lengths don't form a
+	 *                                  prefix code.
+	 */
+	public ByteHuffmanCode(int[] lengths) {
+		if (lengths.length != 256)
+			throw new IllegalArgumentException("There must be a code length for each of the 256 byte values.");
+		for (int length : lengths)
+			if (length < 0 || length > MAX_CODE_LENGTH)
+				throw new IllegalArgumentException("Invalid code length: " + length);
+
+		long[] canonical = CanonicalCode.codes(lengths);
+		for (int b = 0; b < 256; b++) {
+			int length = lengths[b];
+			if (length == 0)
+				continue;
+			codes[b] = (int) canonical[b];
+			this.lengths[b] = (byte) length;
+
+			/* Every index that starts with this code decodes to this byte. */
+			int first = codes[b] << (MAX_CODE_LENGTH - length);
+			int last = first + (1 << (MAX_CODE_LENGTH - length));
+			for (int j = first; j < last; j++)
+				table[j] = (char) ((b << 4) | length);
+		}
+	}
+
+	/**
+	 * Builds the best code for the given byte frequencies.
+	 *
+	 * @param frequencies The amount of times each byte value appears, indexed by the unsigned value of the byte.
+	 * @return The code.
+	 */
+	public static ByteHuffmanCode fromFrequencies(long[] frequencies) {
+		return new ByteHuffmanCode(CanonicalCode.lengths(frequencies, MAX_CODE_LENGTH));
+	}
+
+	/**
+	 * Same as {@code fromFrequencies}, for the histogram returned by {@code HuffmanCoding.compute_fd_bytes}.
+	 */
+	public static ByteHuffmanCode fromFrequencies(int[] frequencies) {
+		long[] widened = new long[frequencies.length];
+		for (int i = 0; i < frequencies.length; i++)
+			widened[i] = frequencies[i];
+		return fromFrequencies(widened);
+	}
+
+	public int getCode(int b) {
+		return codes[b & 0xFF];
+	}
+
+	public int getLength(int b) {
+		return lengths[b & 0xFF];
+	}
+
+	/**
+	 * @return A copy of the code length of every byte value.
+	 */
+	public int[] getLengths() {
+		int[] copy = new int[256];
+		for (int b = 0; b < 256; b++)
+			copy[b] = lengths[b];
+		return copy;
+	}
+
+	/**
+	 * Encodes a range of bytes into the given writer.
+	 *
+	 * @throws IllegalArgumentException If one of the bytes has no code.
+	 */
+	public void encode(byte[] data, int offset, int length, BitWriter writer) {
+		for (int i = offset; i < offset + length; i++) {
+			int b = data[i] & 0xFF;
+			if (lengths[b] == 0)
+				throw new IllegalArgumentException("Byte has no Huffman code: " + b);
+			writer.write(codes[b], lengths[b]);
+		}
+	}
+
+	public PackedBits encode(byte[] data) {
+		BitWriter writer = new BitWriter(Math.max(1, data.length));
+		encode(data, 0, data.length, writer);
+		return writer.finish(data.length);
+	}
+
+	/**
+	 * Decodes {@code length} bytes from the reader into the given array.
+	 *
+	 * @throws IllegalArgumentException If the bits are not a valid code.
+	 */
+	public void decode(BitReader reader, byte[] dest, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			int entry = table[reader.peek(MAX_CODE_LENGTH)];
+			if (entry == 0)
+				throw new IllegalArgumentException("Invalid Huffman code at bit " + reader.getBitPosition());
+			reader.skip(entry & 0xF);
+			dest[i] = (byte) (entry >>> 4);
+		}
+	}
+
+	public byte[] decode(PackedBits bits) {
+		byte[] result = new byte[bits.getSymbolCount()];
+		BitReader reader = new BitReader(bits);
+		decode(reader, result, 0, result.length);
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw new IllegalArgumentException("Encoded bits ended before " + result.length + " bytes were decoded.");
+		return result;
+	}
+
+	/**
+	 * Encodes a range of bytes as {@code STREAMS} interleaved streams, behind their jump table. Every stream but the
+	 * last one holds {@code ceil(length / STREAMS)} bytes, and the last one holds the rest.
+	 *
+	 * @return The jump table followed by the streams.
+	 * @throws IllegalArgumentException If one of the bytes has no code.
+	 */
+	public byte[] encodeStreams(byte[] data, int offset, int length) {
+		int segment = (length + STREAMS - 1) / STREAMS;
+		PackedBits[] streams = new PackedBits[STREAMS];
+		int total = JUMP_TABLE_BYTES;
+		for (int s = 0; s < STREAMS; s++) {
+			int start = Math.min(length, s * segment);
+			int count = Math.min(segment, length - start);
+			BitWriter writer = new BitWriter(Math.max(1, count));
+			encode(data, offset + start, count, writer);
+			streams[s] = writer.finish(count);
+			total += streams[s].getByteLength();
+		}
+
+		byte[] result = new byte[total];
+		ByteBuffer jumpTable = ByteBuffer.wrap(result);
+		int position = JUMP_TABLE_BYTES;
+		for (PackedBits stream : streams) {
+			if (stream.getBitLength() > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Stream doesn't fit in the jump table: " + stream.getBitLength() + " bits");
+			jumpTable.putInt((int) stream.getBitLength());
+			System.arraycopy(stream.getBytes(), 0, result, position, stream.getByteLength());
+			position += stream.getByteLength();
+		}
+		return result;
+	}
+
+	public byte[] encodeStreams(byte[] data) {
+		return encodeStreams(data, 0, data.length);
+	}
+
+	/**
+	 * Decodes {@code length} bytes encoded with {@code encodeStreams} into the given array. The four streams are
+	 * decoded in the same loop, a byte of each per iteration; the last stream, which can be shorter, finishes alone.
+	 *
+	 * @param src       Array holding the jump table and the streams.
+	 * @param srcOffset Position of the jump table.
+	 * @param srcLength Amount of bytes of the jump table and the streams.
+	 * @throws IllegalArgumentException If the jump table doesn't match the bytes, or a stream isn't valid.
+	 */
+	public void decodeStreams(byte[] src, int srcOffset, int srcLength, byte[] dest, int offset, int length) {
+		if (srcLength < JUMP_TABLE_BYTES)
+			throw new IllegalArgumentException("Encoded streams are shorter than their jump table.");
+		ByteBuffer jumpTable = ByteBuffer.wrap(src, srcOffset, JUMP_TABLE_BYTES);
+		long[] first = new long[STREAMS]; //bit position in src where every stream starts
+		long[] end = new long[STREAMS]; //and where its codes end
+		long position = (long) (srcOffset + JUMP_TABLE_BYTES) * 8;
+		for (int s = 0; s < STREAMS; s++) {
+			long bits = jumpTable.getInt() & 0xFFFFFFFFL;
+			first[s] = position;
+			end[s] = position + bits;
+			position += (bits + 7) & ~7L;
+		}
+		if (position > (long) (srcOffset + srcLength) * 8)
+			throw new IllegalArgumentException("Jump table holds more bits than the encoded bytes.");
+
+		int segment = (length + STREAMS - 1) / STREAMS;
+		int[] starts = new int[STREAMS];
+		int[] counts = new int[STREAMS];
+		for (int s = 0; s < STREAMS; s++) {
+			starts[s] = offset + Math.min(length, s * segment);
+			counts[s] = Math.min(segment, length - Math.min(length, s * segment));
+		}
+
+		/*
+		 * The last stream holds the fewest bytes; up to there, a byte of every stream per iteration. Every stream
+		 * keeps its own bit position in a local variable, and every code is read from the 8 bytes around it, so the
+		 * four chains share nothing but the table. A stream can read the first bits of the next one, which only
+		 * ever follow a complete code. No code is longer than MAX_CODE_LENGTH, so the amount of iterations that
+		 * stay within the array, 8 bytes at a time, is known in advance from the start of the last stream.
+		 */
+		long b0 = first[0], b1 = first[1], b2 = first[2], b3 = first[3];
+		int o0 = starts[0], o1 = starts[1], o2 = starts[2], o3 = starts[3];
+		long safe = ((long) src.length - 8) * 8 - b3;
+		int fast = (int) Math.min(counts[STREAMS - 1], Math.max(0, safe / MAX_CODE_LENGTH));
+		int i = 0;
+		for (; i < fast; i++) {
+			int e0 = table[(int) (((long) LONG_VIEW.get(src, (int) (b0 >>> 3)) << (b0 & 7)) >>> (64 - MAX_CODE_LENGTH))];
+			int e1 = table[(int) (((long) LONG_VIEW.get(src, (int) (b1 >>> 3)) << (b1 & 7)) >>> (64 - MAX_CODE_LENGTH))];
+			int e2 = table[(int) (((long) LONG_VIEW.get(src, (int) (b2 >>> 3)) << (b2 & 7)) >>> (64 - MAX_CODE_LENGTH))];
+			int e3 = table[(int) (((long) LONG_VIEW.get(src, (int) (b3 >>> 3)) << (b3 & 7)) >>> (64 - MAX_CODE_LENGTH))];
+			if ((e0 == 0) | (e1 == 0) | (e2 == 0) | (e3 == 0))
+				throw new IllegalArgumentException("Invalid Huffman code in one of the streams, at byte " + i);
+			b0 += e0 & 0xF;
+			b1 += e1 & 0xF;
+			b2 += e2 & 0xF;
+			b3 += e3 & 0xF;
+			dest[o0 + i] = (byte) (e0 >>> 4);
+			dest[o1 + i] = (byte) (e1 >>> 4);
+			dest[o2 + i] = (byte) (e2 >>> 4);
+			dest[o3 + i] = (byte) (e3 >>> 4);
+		}
+
+		/* Every stream finishes alone, with a reader limited to its own bytes. */
+		long[] positions = {b0, b1, b2, b3};
+		for (int s = 0; s < STREAMS; s++) {
+			if (positions[s] > end[s])
+				throw new IllegalArgumentException("Stream " + s + " ended before all of its bytes were decoded.");
+			int from = (int) (positions[s] >>> 3);
+			BitReader reader = new BitReader(src, from, (int) ((end[s] + 7) >>> 3) - from);
+			reader.peek(8);
+			reader.skip((int) (positions[s] & 7));
+			decode(reader, dest, starts[s] + i, counts[s] - i);
+			if (((long) from << 3) + reader.getBitPosition() > end[s])
+				throw new IllegalArgumentException("Stream " + s + " ended before all of its bytes were decoded.");
+		}
+	}
+
+	public byte[] decodeStreams(byte[] src, int length) {
+		byte[] result = new byte[length];
+		decodeStreams(src, 0, src.length, result, 0, length);
+		return result;
+	}
+}
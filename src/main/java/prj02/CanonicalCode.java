@@ -0,0 +1,97 @@
+package prj02;
+
+/**
+ * Canonical Huffman code assignment over primitive arrays. Works just like {@code HuffmanCoding.canonical_code}, but
+ * symbols are identified by their index in the arrays, and ties between codes of the same length are broken by that
+ * index. Used by the codecs that store only the code lengths of their symbols.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class CanonicalCode {
+
+	/**
+	 * Computes the code length of every symbol from a histogram, with {@code PackageMerge} so that no code is longer
+	 * than {@code maxLength}. Symbols that don't appear get length 0. A lone symbol gets length 1 instead of the empty
+	 * code, so that every encoded symbol takes at least one bit and can be counted while decoding.
+	 *
+	 * @param frequencies The amount of times each symbol appears.
+	 * @param maxLength   The longest code allowed, in bits.
+	 * @return The code length of every symbol, indexed like {@code frequencies}.
+	 */
+	public static int[] lengths(long[] frequencies, int maxLength) {
+		int used = 0;
+		for (long frequency : frequencies)
+			if (frequency > 0)
+				used++;
+
+		/* Package-merge only needs the symbols that appear. */
+		int[] symbols = new int[used];
+		long[] weights = new long[used];
+		used = 0;
+		for (int i = 0; i < frequencies.length; i++) {
+			if (frequencies[i] > 0) {
+				symbols[used] = i;
+				weights[used++] = frequencies[i];
+			}
+		}
+
+		int[] merged = PackageMerge.codeLengths(weights, maxLength);
+		int[] lengths = new int[frequencies.length];
+		for (int i = 0; i < used; i++)
+			lengths[symbols[i]] = Math.max(1, merged[i]);
+		return lengths;
+	}
+
+	/**
+	 * Orders the symbols by code length, and by index when the lengths are equal, with a counting sort. Symbols with
+	 * length 0 don't appear in the input and are left out.
+	 *
+	 * @param lengths The code length of every symbol; 0 for symbols that don't appear.
+	 * @return The indices of the symbols that have a code, in canonical order.
+	 */
+	public static int[] order(int[] lengths) {
+		int maxLength = 0;
+		int used = 0;
+		for (int i = 0; i < lengths.length; i++) {
+			maxLength = Math.max(maxLength, lengths[i]);
+			if (lengths[i] > 0)
+				used++;
+		}
+
+		int[] start = new int[maxLength + 2];
+		for (int length : lengths)
+			if (length > 0)
+				start[length + 1]++;
+		for (int i = 1; i < start.length; i++)
+			start[i] += start[i - 1];
+
+		int[] ordered = new int[used];
+		for (int i = 0; i < lengths.length; i++)
+			if (lengths[i] > 0)
+				ordered[start[lengths[i]]++] = i;
+		return ordered;
+	}
+
+	/**
+	 * Assigns canonical codes to the given lengths.
+	 *
+	 * @param lengths The code length of every symbol; 0 for symbols that don't appear.
+	 * @return The code of every symbol, right aligned; 0 for symbols that don't appear.
+	 * @throws IllegalArgumentException If the lengths don't form a prefix code.
+	 */
+	public static long[] codes(int[] lengths) {
+		long[] codes = new long[lengths.length];
+		long code = 0;
+		int length = 0;
+		for (int symbol : order(lengths)) {
+			code <<= lengths[symbol] - length;
+			length = lengths[symbol];
+			if (length < 64 && (code >>> length) != 0)
+				throw new IllegalArgumentException("Code lengths don't form a prefix code.");
+			codes[symbol] = code++;
+		}
+		return codes;
+	}
+}
@@ -0,0 +1,19 @@
+package prj02;
+
+/**
+ * The ways {@code HuffmanCoding} can compute a Huffman code. All of them give codes with the same, optimal, encoded
+ * size; they differ in how much memory and time they take for large alphabets, and in which of the many optimal
+ * codes they pick.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public enum CodeEngine {
+	/* A tree of BTNode objects, built by huffman_tree. */
+	TREE,
+	/* A tree stored in parallel arrays, built by huffman_tree_compact; same codes as TREE. */
+	ARRAYS,
+	/* Code lengths computed in place by MinimumRedundancy, in linear time once sorted, turned into canonical codes. */
+	IN_PLACE
+}
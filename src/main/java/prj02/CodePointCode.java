@@ -0,0 +1,166 @@
+package prj02;
+
+import java.util.Arrays;
+
+import HashTable.IntHashTableOA;
+
+/**
+ * Huffman code over the Unicode code points of a text, so that a supplementary character gets a single code instead
+ * of one for each of its surrogates. Codes are canonical and limited to {@code MAX_CODE_LENGTH} bits, like the ones
+ * of {@code HuffmanFileCodec.compressText}.
+ *
+ * Code points are looked up by their int value, never as a {@code String}: the symbol index of every code point of
+ * the Basic Multilingual Plane is in a flat array, and the one of every supplementary code point in an
+ * {@code IntHashTableOA}, so neither encoding nor decoding allocates anything per symbol.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class CodePointCode {
+	public static final int MAX_CODE_LENGTH = HuffmanFileCodec.MAX_CODE_LENGTH;
+
+	private final int[] codePoints; //code point of every symbol
+	private final int[] codes;
+	private final byte[] lengths;
+	private final int[] bmpIndex = new int[Character.MAX_VALUE + 1]; //symbol of every BMP code point, -1 for none
+	private final IntHashTableOA supplementaryIndex = new IntHashTableOA();
+	private final HuffmanDecoder decoder;
+
+	/**
+	 * Builds the code from the given code lengths, assigning canonical codes.
+	 *
+	 * @param codePoints The code points, without repetitions.
+	 * @param lengths    The code length of every code point, between 1 and {@code MAX_CODE_LENGTH}.
+	 * @throws IllegalArgumentException If the lengths don't form a prefix code.
+	 */
+	public CodePointCode(int[] codePoints, int[] lengths) {
+		int n = codePoints.length;
+		if (n != lengths.length)
+			throw new IllegalArgumentException("There must be a code length for every code point.");
+		this.codePoints = codePoints.clone();
+		this.codes = new int[n];
+		this.lengths = new byte[n];
+		Arrays.fill(bmpIndex, -1);
+
+		for (int i = 0; i < n; i++) {
+			int codePoint = codePoints[i];
+			if (lengths[i] < 1 || lengths[i] > MAX_CODE_LENGTH)
+				throw new IllegalArgumentException("Invalid code length for code point " + codePoint + ": " + lengths[i]);
+			if (!Character.isValidCodePoint(codePoint) || indexOf(codePoint) >= 0)
+				throw new IllegalArgumentException("Invalid or repeated code point: " + codePoint);
+			if (codePoint <= Character.MAX_VALUE)
+				bmpIndex[codePoint] = i;
+			else
+				supplementaryIndex.put(codePoint, i);
+		}
+
+		/* Only once every length is known to be valid, so CanonicalCode can only reject an invalid prefix code. */
+		long[] canonical = CanonicalCode.codes(lengths);
+		String[] symbols = new String[n];
+		for (int i = 0; i < n; i++) {
+			codes[i] = (int) canonical[i];
+			this.lengths[i] = (byte) lengths[i];
+			symbols[i] = new String(Character.toChars(codePoints[i]));
+		}
+		decoder = n > 0 ? new HuffmanDecoder(symbols, canonical, lengths) : null;
+	}
+
+	/**
+	 * Builds the best code, under the length limit, for the given code point frequencies.
+	 *
+	 * @param histogram The frequency of every code point.
+	 * @return The code.
+	 */
+	public static CodePointCode fromHistogram(CodePointHistogram histogram) {
+		int[] codePoints = histogram.codePoints();
+		long[] frequencies = new long[codePoints.length];
+		for (int i = 0; i < codePoints.length; i++)
+			frequencies[i] = histogram.count(codePoints[i]);
+		return new CodePointCode(codePoints, CanonicalCode.lengths(frequencies, MAX_CODE_LENGTH));
+	}
+
+	public int getSymbolCount() {
+		return codePoints.length;
+	}
+
+	/**
+	 * @param codePoint A code point.
+	 * @return Its code, right aligned.
+	 * @throws IllegalArgumentException If the code point has no code.
+	 */
+	public int getCode(int codePoint) {
+		return codes[symbol(codePoint)];
+	}
+
+	/**
+	 * @param codePoint A code point.
+	 * @return The length of its code, or 0 if it has none.
+	 */
+	public int getLength(int codePoint) {
+		int index = indexOf(codePoint);
+		return index < 0 ? 0 : lengths[index];
+	}
+
+	/**
+	 * Encodes the code points of a text.
+	 *
+	 * @param text The text.
+	 * @return The packed codes; the symbol count is the amount of code points.
+	 * @throws IllegalArgumentException If one of the code points has no code.
+	 */
+	public PackedBits encode(CharSequence text) {
+		BitWriter writer = new BitWriter(Math.max(1, text.length()));
+		int count = 0;
+		int i = 0, n = text.length();
+		while (i < n) {
+			char c = text.charAt(i++);
+			int index;
+			if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(text.charAt(i)))
+				index = symbol(Character.toCodePoint(c, text.charAt(i++)));
+			else if ((index = bmpIndex[c]) < 0)
+				throw new IllegalArgumentException("Code point has no Huffman code: " + (int) c);
+			writer.write(codes[index], lengths[index]);
+			count++;
+		}
+		return writer.finish(count);
+	}
+
+	/**
+	 * Decodes the given packed bits back into the original text.
+	 *
+	 * @param bits Packed bits generated with the same code.
+	 * @return The decoded text.
+	 */
+	public String decode(PackedBits bits) {
+		int n = bits.getSymbolCount();
+		if (n == 0)
+			return "";
+		BitReader reader = new BitReader(bits);
+		char[] result = new char[2 * n];
+		int length = 0;
+		for (int i = 0; i < n; i++) {
+			int codePoint = codePoints[decoder.nextSymbol(reader)];
+			if (codePoint <= Character.MAX_VALUE)
+				result[length++] = (char) codePoint;
+			else
+				length += Character.toChars(codePoint, result, length);
+		}
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw new IllegalArgumentException("Encoded bits ended before " + n + " code points were decoded.");
+		return new String(result, 0, length);
+	}
+
+	private int indexOf(int codePoint) {
+		if (codePoint >= 0 && codePoint <= Character.MAX_VALUE)
+			return bmpIndex[codePoint];
+		return supplementaryIndex.get(codePoint, -1);
+	}
+
+	private int symbol(int codePoint) {
+		int index = indexOf(codePoint);
+		if (index < 0)
+			throw new IllegalArgumentException("Code point has no Huffman code: " + codePoint);
+		return index;
+	}
+}
@@ -0,0 +1,75 @@
+package prj02;
+
+import java.util.Arrays;
+
+import HashTable.IntHashTableOA;
+
+/**
+ * Frequency of every Unicode code point of a text. Unlike {@code compute_fd}, which counts every {@code char} and so
+ * splits a supplementary character (an emoji, a CJK extension ideograph) into its two surrogates, the text is read
+ * one code point at a time. Code points of the Basic Multilingual Plane are counted in a flat array indexed by the
+ * code point, and the few supplementary ones in an {@code IntHashTableOA}; no count is ever boxed.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class CodePointHistogram {
+	private final int[] bmp = new int[Character.MAX_VALUE + 1];
+	private final IntHashTableOA supplementary = new IntHashTableOA();
+	private long total;
+
+	/**
+	 * Counts every code point of a text. A surrogate without its pair is counted as a code point of its own.
+	 *
+	 * @param text The text.
+	 */
+	public void add(CharSequence text) {
+		int i = 0, n = text.length();
+		while (i < n) {
+			char c = text.charAt(i++);
+			if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(text.charAt(i)))
+				supplementary.add(Character.toCodePoint(c, text.charAt(i++)), 1);
+			else
+				bmp[c]++;
+			total++;
+		}
+	}
+
+	/**
+	 * @param codePoint A code point.
+	 * @return The amount of times it was counted.
+	 */
+	public int count(int codePoint) {
+		if (codePoint >= 0 && codePoint <= Character.MAX_VALUE)
+			return bmp[codePoint];
+		return supplementary.get(codePoint, 0);
+	}
+
+	/**
+	 * @return The amount of code points counted, which is the length of the texts in code points.
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return Every code point that was counted, in ascending order.
+	 */
+	public int[] codePoints() {
+		int[] rest = supplementary.keys();
+		int distinct = rest.length;
+		for (int count : bmp)
+			if (count > 0)
+				distinct++;
+
+		int[] result = new int[distinct];
+		int n = 0;
+		for (int c = 0; c < bmp.length; c++)
+			if (bmp[c] > 0)
+				result[n++] = c;
+		Arrays.sort(rest);
+		System.arraycopy(rest, 0, result, n, rest.length);
+		return result;
+	}
+}
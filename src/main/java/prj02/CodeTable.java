@@ -0,0 +1,192 @@
+package prj02;
+
+import java.util.Arrays;
+
+import HashTable.HashTableSC;
+import HashTable.Map;
+import HashTable.SimpleHashFunction;
+import Tree.BTNode;
+
+/**
+ * Huffman codes stored as primitives: a {@code long} holding the bits of every code, right aligned, and a
+ * {@code byte} holding its length, ready to be handed to a {@code BitWriter}. Symbols are numbered in the order of
+ * their leaves from left to right; single character symbols can also be looked up directly by character.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class CodeTable {
+	/* Longest code that fits in a long. */
+	public static final int MAX_LENGTH = 64;
+
+	private final String[] symbols;
+	private final long[] codes;
+	private final byte[] lengths;
+	/* Code and length of every single character symbol, indexed by the character; length -1 for the rest. */
+	private final long[] charCodes;
+	private final byte[] charLengths;
+
+	/**
+	 * @param symbols The symbols.
+	 * @param codes   The code of every symbol, right aligned.
+	 * @param lengths The length of every code, at most {@code MAX_LENGTH}.
+	 */
+	public CodeTable(String[] symbols, long[] codes, byte[] lengths) {
+		if (symbols.length != codes.length || symbols.length != lengths.length)
+			throw new IllegalArgumentException("There must be a code and a length for every symbol.");
+		this.symbols = symbols;
+		this.codes = codes;
+		this.lengths = lengths;
+
+		int maxChar = -1;
+		for (int i = 0; i < symbols.length; i++) {
+			if (lengths[i] < 0 || lengths[i] > MAX_LENGTH)
+				throw new IllegalArgumentException("Invalid code length for " + symbols[i] + ": " + lengths[i]);
+			if (symbols[i].length() == 1)
+				maxChar = Math.max(maxChar, symbols[i].charAt(0));
+		}
+		charCodes = new long[maxChar + 1];
+		charLengths = new byte[maxChar + 1];
+		Arrays.fill(charLengths, (byte) -1);
+		for (int i = 0; i < symbols.length; i++) {
+			if (symbols[i].length() == 1) {
+				charCodes[symbols[i].charAt(0)] = codes[i];
+				charLengths[symbols[i].charAt(0)] = lengths[i];
+			}
+		}
+	}
+
+	/**
+	 * Reads the code of every leaf of a Huffman tree, 0 for every left child and 1 for every right child. The tree is
+	 * walked with an explicit stack, so its depth is only limited by {@code MAX_LENGTH}, not by the call stack.
+	 *
+	 * @param huffmanRoot The root of the Huffman tree; null for an empty tree.
+	 * @return The codes of the tree.
+	 * @throws IllegalArgumentException If a leaf is deeper than {@code MAX_LENGTH}.
+	 */
+	public static CodeTable fromTree(BTNode<Integer, String> huffmanRoot) {
+		if (huffmanRoot == null)
+			return new CodeTable(new String[0], new long[0], new byte[0]);
+
+		@SuppressWarnings("unchecked")
+		BTNode<Integer, String>[] nodes = new BTNode[MAX_LENGTH + 1];
+		long[] nodeCodes = new long[MAX_LENGTH + 1];
+		int[] depths = new int[MAX_LENGTH + 1];
+
+		String[] symbols = new String[16];
+		long[] codes = new long[16];
+		byte[] lengths = new byte[16];
+		int count = 0;
+
+		/* Right children are pushed first, so leaves come out from left to right. At most one pending node per level. */
+		int top = 0;
+		nodes[0] = huffmanRoot;
+		while (top >= 0) {
+			BTNode<Integer, String> node = nodes[top];
+			long code = nodeCodes[top];
+			int depth = depths[top--];
+
+			if (node.getLeftChild() == null && node.getRightChild() == null) {
+				if (count == symbols.length) {
+					symbols = Arrays.copyOf(symbols, count * 2);
+					codes = Arrays.copyOf(codes, count * 2);
+					lengths = Arrays.copyOf(lengths, count * 2);
+				}
+				symbols[count] = node.getValue();
+				codes[count] = code;
+				lengths[count++] = (byte) depth;
+				continue;
+			}
+			if (depth == MAX_LENGTH)
+				throw new IllegalArgumentException("Huffman tree is deeper than " + MAX_LENGTH + " levels.");
+			if (node.getRightChild() != null) {
+				nodes[++top] = node.getRightChild();
+				nodeCodes[top] = (code << 1) | 1;
+				depths[top] = depth + 1;
+			}
+			if (node.getLeftChild() != null) {
+				nodes[++top] = node.getLeftChild();
+				nodeCodes[top] = code << 1;
+				depths[top] = depth + 1;
+			}
+		}
+		return new CodeTable(Arrays.copyOf(symbols, count), Arrays.copyOf(codes, count), Arrays.copyOf(lengths, count));
+	}
+
+	/**
+	 * Parses codes written as strings of '0' and '1' characters.
+	 *
+	 * @param encodingMap A map containing each symbol and its Huffman code.
+	 * @return The same codes.
+	 */
+	public static CodeTable fromMap(Map<String, String> encodingMap) {
+		int n = encodingMap.size();
+		String[] symbols = new String[n];
+		long[] codes = new long[n];
+		byte[] lengths = new byte[n];
+		int i = 0;
+		for (String key : encodingMap.getKeys()) {
+			String code = encodingMap.get(key);
+			if (code.length() > MAX_LENGTH)
+				throw new IllegalArgumentException("Code of " + key + " is longer than " + MAX_LENGTH + " bits.");
+			symbols[i] = key;
+			codes[i] = code.isEmpty() ? 0 : Long.parseUnsignedLong(code, 2);
+			lengths[i++] = (byte) code.length();
+		}
+		return new CodeTable(symbols, codes, lengths);
+	}
+
+	public int getSymbolCount() {
+		return symbols.length;
+	}
+
+	public String getSymbol(int index) {
+		return symbols[index];
+	}
+
+	public long getCode(int index) {
+		return codes[index];
+	}
+
+	public int getLength(int index) {
+		return lengths[index];
+	}
+
+	/**
+	 * Writes the code of a single character symbol.
+	 *
+	 * @param c      The character.
+	 * @param writer Writer that receives the bits.
+	 * @throws IllegalArgumentException If the character has no code.
+	 */
+	public void write(char c, BitWriter writer) {
+		if (c >= charLengths.length || charLengths[c] < 0)
+			throw new IllegalArgumentException("Character has no Huffman code: " + c);
+		writer.write(charCodes[c], charLengths[c]);
+	}
+
+	/**
+	 * @return A map containing each symbol and its code, as a string of '0' and '1' characters.
+	 */
+	public Map<String, String> toMap() {
+		HashTableSC<String, String> map = new HashTableSC<>(symbols.length + 1, new SimpleHashFunction<>());
+		char[] bits = new char[MAX_LENGTH];
+		for (int i = 0; i < symbols.length; i++) {
+			for (int b = 0; b < lengths[i]; b++)
+				bits[b] = (char) ('0' + ((codes[i] >>> (lengths[i] - 1 - b)) & 1));
+			map.put(symbols[i], new String(bits, 0, lengths[i]));
+		}
+		return map;
+	}
+
+	/**
+	 * @return A map containing each symbol and the length of its code.
+	 */
+	public Map<String, Integer> lengthMap() {
+		HashTableSC<String, Integer> map = new HashTableSC<>(symbols.length + 1, new SimpleHashFunction<>());
+		for (int i = 0; i < symbols.length; i++)
+			map.put(symbols[i], (int) lengths[i]);
+		return map;
+	}
+}
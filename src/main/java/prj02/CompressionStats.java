@@ -0,0 +1,140 @@
+package prj02;
+
+/**
+ * What Huffman coding would do to an input, computed from its histogram and its code lengths alone: the exact size of
+ * the encoded bits is the sum of the frequency times the code length of every symbol, so nothing is ever encoded.
+ * Analyzing an input therefore costs about as much as counting its symbols, which makes it cheap enough to run over
+ * every file of a dataset.
+ *
+ * Besides the size, the analysis reports how close the code is to the best possible one: the Shannon entropy of the
+ * symbols is the least amount of bits per symbol that any code for them can average, and the redundancy is how many
+ * bits per symbol the Huffman code spends over it. The header, which any decoder needs before the bits, is counted
+ * apart from them.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class CompressionStats {
+	private final long inputBytes;
+	private final long symbolCount;
+	private final int distinctSymbols;
+	private final long encodedBits;
+	private final long headerBytes;
+	private final double entropy;
+
+	/**
+	 * @param frequencies The frequency of every symbol; symbols that don't appear have frequency 0.
+	 * @param lengths     The code length of every symbol, 0 for those that don't appear.
+	 * @param headerBytes The size of the header written before the encoded bits.
+	 * @param inputBytes  The size of the input, in bytes.
+	 * @throws IllegalArgumentException If a symbol that appears has no code.
+	 */
+	public CompressionStats(long[] frequencies, int[] lengths, long headerBytes, long inputBytes) {
+		if (frequencies.length != lengths.length)
+			throw new IllegalArgumentException("There must be a code length for every frequency.");
+
+		long count = 0, bits = 0;
+		int distinct = 0;
+		for (int i = 0; i < frequencies.length; i++) {
+			if (frequencies[i] == 0)
+				continue;
+			if (lengths[i] < 1)
+				throw new IllegalArgumentException("Symbol " + i + " appears but has no code.");
+			count += frequencies[i];
+			bits += frequencies[i] * lengths[i];
+			distinct++;
+		}
+
+		/* H = -sum(p * log2(p)), with p = f / n: computed as log2(n) - sum(f * log2(f)) / n to divide only once. */
+		double sum = 0;
+		for (long frequency : frequencies)
+			if (frequency > 0)
+				sum += frequency * log2(frequency);
+		this.entropy = count == 0 ? 0 : Math.max(0, log2(count) - sum / count);
+
+		this.inputBytes = inputBytes;
+		this.symbolCount = count;
+		this.distinctSymbols = distinct;
+		this.encodedBits = bits;
+		this.headerBytes = headerBytes;
+	}
+
+	public long getInputBytes() {
+		return inputBytes;
+	}
+
+	public long getSymbolCount() {
+		return symbolCount;
+	}
+
+	public int getDistinctSymbols() {
+		return distinctSymbols;
+	}
+
+	/**
+	 * @return The exact size of the encoded symbols, in bits, without the header.
+	 */
+	public long getEncodedBits() {
+		return encodedBits;
+	}
+
+	/**
+	 * @return The size of the encoded symbols, padded to a whole byte, without the header.
+	 */
+	public long getEncodedBytes() {
+		return (encodedBits + 7) / 8;
+	}
+
+	public long getHeaderBytes() {
+		return headerBytes;
+	}
+
+	/**
+	 * @return The size of the compressed output: the header and the padded encoded symbols.
+	 */
+	public long getTotalBytes() {
+		return headerBytes + getEncodedBytes();
+	}
+
+	/**
+	 * @return The Shannon entropy of the symbols, in bits per symbol.
+	 */
+	public double getEntropy() {
+		return entropy;
+	}
+
+	/**
+	 * @return The bits per symbol spent by the code, on average over the input.
+	 */
+	public double getAverageCodeLength() {
+		return symbolCount == 0 ? 0 : (double) encodedBits / symbolCount;
+	}
+
+	/**
+	 * @return How many bits per symbol the code spends over the entropy; never negative, and at most 1 for a Huffman
+	 * code without a length limit.
+	 */
+	public double getRedundancy() {
+		return Math.max(0, getAverageCodeLength() - entropy);
+	}
+
+	/**
+	 * @return The percentage of the input saved by the compressed output, header included, as reported by
+	 * {@code HuffmanCoding.process_results}. Negative when the output is larger than the input.
+	 */
+	public double getSavings() {
+		return inputBytes == 0 ? 0 : 100 - 100.0 * getTotalBytes() / inputBytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d bytes, %d symbols (%d distinct): %d + %d bytes, %.2f%% saved; entropy %.4f, "
+						+ "average %.4f, redundancy %.4f bits per symbol", inputBytes, symbolCount, distinctSymbols,
+				getEncodedBytes(), headerBytes, getSavings(), entropy, getAverageCodeLength(), getRedundancy());
+	}
+
+	private static double log2(double x) {
+		return Math.log(x) / Math.log(2);
+	}
+}
@@ -0,0 +1,223 @@
+package prj02;
+
+import java.util.Arrays;
+
+/**
+ * Order-1 Huffman code over bytes: every byte is coded with a table chosen by the byte before it, its context. In
+ * text, what follows a 'q', a space or a line break is far from what follows any other letter, and a code fitted to
+ * each context takes fewer bits than a single code for the whole file. The first byte of the input has context 0.
+ *
+ * Every table costs {@code HufFormat.TABLE_BYTES} in the header of the compressed file, which rare contexts don't
+ * make up for. A context only gets its own table when it saves more bits than that over the code of the whole input;
+ * the rest are merged, and share a single fallback table fitted to the bytes that follow all of them.
+ *
+ * Every table is a row of flat arrays: the code and the length of byte {@code b} in table {@code t} are at
+ * {@code t * 256 + b}, and its decoding entries start at {@code t << MAX_CODE_LENGTH}. Coding a byte stays a handful
+ * of array reads, as in {@code ByteHuffmanCode}.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class ContextHuffmanCode {
+	public static final int MAX_CODE_LENGTH = ByteHuffmanCode.MAX_CODE_LENGTH;
+	public static final int INITIAL_CONTEXT = 0;
+
+	/* Table of every context. */
+	private final int[] tableOf;
+	private final int tableCount;
+	private final int[] codes;
+	private final byte[] lengths;
+	/*
+	 * Each entry is (table of the byte << 12) | (byte << 4) | code length, 0 for invalid codes, in blocks of
+	 * 2^MAX_CODE_LENGTH per table. Every entry names the table of the next byte, so decoding goes from one table to
+	 * the next without looking the context up.
+	 */
+	private final int[] decoding;
+	/* Start of the row of the table of every context. */
+	private final int[] codeRow = new int[256];
+
+	/**
+	 * Builds the code from its tables.
+	 *
+	 * @param tableOf      The index of the table of each of the 256 contexts.
+	 * @param tableLengths The code length of every byte value in every table; 0 for bytes that don't appear.
+	 * @throws IllegalArgumentException If a context has no table, or the lengths of a table don't form a prefix code
+	 *                                  of at most {@code MAX_CODE_LENGTH} bits.
+	 */
+	public ContextHuffmanCode(int[] tableOf, int[][] tableLengths) {
+		if (tableOf.length != 256)
+			throw new IllegalArgumentException("There must be a table for each of the 256 contexts.");
+		tableCount = tableLengths.length;
+		this.tableOf = tableOf.clone();
+		codes = new int[tableCount * 256];
+		lengths = new byte[tableCount * 256];
+		decoding = new int[tableCount << MAX_CODE_LENGTH];
+		for (int c = 0; c < 256; c++) {
+			if (tableOf[c] < 0 || tableOf[c] >= tableCount)
+				throw new IllegalArgumentException("Context " + c + " has no table: " + tableOf[c]);
+			codeRow[c] = tableOf[c] * 256;
+		}
+
+		for (int t = 0; t < tableCount; t++) {
+			/* Every table is checked and decoded exactly as a ByteHuffmanCode would. */
+			ByteHuffmanCode table = new ByteHuffmanCode(tableLengths[t]);
+			for (int b = 0; b < 256; b++) {
+				int length = table.getLength(b);
+				if (length == 0)
+					continue;
+				codes[t * 256 + b] = table.getCode(b);
+				lengths[t * 256 + b] = (byte) length;
+				int first = (t << MAX_CODE_LENGTH) | (table.getCode(b) << (MAX_CODE_LENGTH - length));
+				Arrays.fill(decoding, first, first + (1 << (MAX_CODE_LENGTH - length)), (tableOf[b] << 12) | (b << 4) | length);
+			}
+		}
+	}
+
+	/**
+	 * Counts every pair of consecutive bytes, as needed by {@code fromCounts}.
+	 *
+	 * @param data    The bytes to count.
+	 * @param counts  The counts so far, indexed by {@code context * 256 + byte}.
+	 * @param context The byte before the first one, {@code INITIAL_CONTEXT} at the start of the input.
+	 * @return The context of the byte that follows the counted ones.
+	 */
+	public static int count(byte[] data, int offset, int length, long[] counts, int context) {
+		for (int i = offset; i < offset + length; i++) {
+			int b = data[i] & 0xFF;
+			counts[(context << 8) | b]++;
+			context = b;
+		}
+		return context;
+	}
+
+	/**
+	 * Builds the best code for the given counts: one table for every context that pays for it, and a fallback table
+	 * for the rest, if any.
+	 *
+	 * @param counts The amount of times every byte follows every context, indexed by {@code context * 256 + byte}.
+	 * @return The code.
+	 */
+	public static ContextHuffmanCode fromCounts(long[] counts) {
+		if (counts.length != 256 * 256)
+			throw new IllegalArgumentException("There must be a count for every pair of bytes.");
+
+		/* What every context costs with the code of the whole input, which the fallback can only improve on. */
+		long[] total = new long[256];
+		for (int i = 0; i < counts.length; i++)
+			total[i & 0xFF] += counts[i];
+		int[] globalLengths = CanonicalCode.lengths(total, MAX_CODE_LENGTH);
+
+		int[][] own = new int[256][];
+		long[] merged = new long[256];
+		boolean anyMerged = false;
+		int ownCount = 0;
+		for (int c = 0; c < 256; c++) {
+			long[] row = Arrays.copyOfRange(counts, c * 256, c * 256 + 256);
+			int[] rowLengths = CanonicalCode.lengths(row, MAX_CODE_LENGTH);
+			long saved = 0;
+			for (int b = 0; b < 256; b++)
+				saved += row[b] * (globalLengths[b] - rowLengths[b]);
+			if (saved > HufFormat.TABLE_BYTES * 8L) {
+				own[c] = rowLengths;
+				ownCount++;
+				continue;
+			}
+			for (int b = 0; b < 256; b++)
+				merged[b] += row[b];
+			anyMerged = true;
+		}
+
+		/* The fallback comes first, so that every context without bytes points to a valid table. */
+		int[][] tables = new int[ownCount + (anyMerged ? 1 : 0)][];
+		int[] tableOf = new int[256];
+		int t = 0;
+		if (anyMerged)
+			tables[t++] = CanonicalCode.lengths(merged, MAX_CODE_LENGTH);
+		for (int c = 0; c < 256; c++) {
+			if (own[c] != null) {
+				tableOf[c] = t;
+				tables[t++] = own[c];
+			}
+		}
+		return new ContextHuffmanCode(tableOf, tables);
+	}
+
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	/**
+	 * @param context A byte value.
+	 * @return The index of the table used after that byte.
+	 */
+	public int getTable(int context) {
+		return tableOf[context & 0xFF];
+	}
+
+	/**
+	 * @param table Index of a table.
+	 * @return A copy of the code length of every byte value in that table.
+	 */
+	public int[] getLengths(int table) {
+		int[] copy = new int[256];
+		for (int b = 0; b < 256; b++)
+			copy[b] = lengths[table * 256 + b];
+		return copy;
+	}
+
+	/**
+	 * Encodes a range of bytes into the given writer.
+	 *
+	 * @param context The byte before the first one, {@code INITIAL_CONTEXT} at the start of the input.
+	 * @return The context of the byte that follows the encoded ones.
+	 * @throws IllegalArgumentException If one of the bytes has no code in its context.
+	 */
+	public int encode(byte[] data, int offset, int length, int context, BitWriter writer) {
+		for (int i = offset; i < offset + length; i++) {
+			int b = data[i] & 0xFF;
+			int index = codeRow[context] | b;
+			if (lengths[index] == 0)
+				throw new IllegalArgumentException("Byte " + b + " has no Huffman code after byte " + context);
+			writer.write(codes[index], lengths[index]);
+			context = b;
+		}
+		return context;
+	}
+
+	/**
+	 * Decodes {@code length} bytes from the reader into the given array.
+	 *
+	 * @param context The byte before the first one, {@code INITIAL_CONTEXT} at the start of the input.
+	 * @return The context of the byte that follows the decoded ones.
+	 * @throws IllegalArgumentException If the bits are not a valid code.
+	 */
+	public int decode(BitReader reader, byte[] dest, int offset, int length, int context) {
+		int row = tableOf[context & 0xFF] << MAX_CODE_LENGTH;
+		int entry = context << 4;
+		for (int i = offset; i < offset + length; i++) {
+			entry = decoding[row | reader.peek(MAX_CODE_LENGTH)];
+			if ((entry & 0xF) == 0)
+				throw new IllegalArgumentException("Invalid Huffman code at bit " + reader.getBitPosition());
+			reader.skip(entry & 0xF);
+			dest[i] = (byte) (entry >>> 4);
+			row = (entry >>> 12) << MAX_CODE_LENGTH;
+		}
+		return (entry >>> 4) & 0xFF;
+	}
+
+	public PackedBits encode(byte[] data) {
+		BitWriter writer = new BitWriter(Math.max(1, data.length));
+		encode(data, 0, data.length, INITIAL_CONTEXT, writer);
+		return writer.finish(data.length);
+	}
+
+	public byte[] decode(PackedBits bits) {
+		byte[] result = new byte[bits.getSymbolCount()];
+		BitReader reader = new BitReader(bits);
+		decode(reader, result, 0, result.length, INITIAL_CONTEXT);
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw new IllegalArgumentException("Encoded bits ended before " + result.length + " bytes were decoded.");
+		return result;
+	}
+}
@@ -0,0 +1,275 @@
+package prj02;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads {@code .huf} containers written by {@code HufFileWriter}. Opening a container checks its header and block
+ * index against their checksums; blocks are only read when asked for, each with a positional read, so any block can
+ * be verified or decoded on its own, and several of them at the same time.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HufFileReader implements Closeable {
+	private final FileChannel channel;
+	private final boolean blockTables;
+	private final boolean fourStreams;
+	private final int blockSize;
+	private final long originalSize;
+	private final ByteHuffmanCode sharedCode;
+
+	private final long[] offsets;
+	private final int[] storedLengths;
+	private final int[] blockBits;
+	private final int[] crcs;
+
+	/**
+	 * Opens a container and checks its header and block index.
+	 *
+	 * @param file Path of the container.
+	 * @throws IOException If the file can't be read, or isn't a valid container.
+	 */
+	public HufFileReader(String file) throws IOException {
+		channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			ByteBuffer header = read(0, HufFormat.HEADER_BYTES, "header");
+			if (header.getInt() != HufFormat.MAGIC)
+				throw new IOException("Not a .huf file: " + file);
+			int version = header.get() & 0xFF;
+			if (version != HufFormat.VERSION)
+				throw new IOException("Unsupported .huf version " + version + " in " + file);
+			checkCrc(header, HufFormat.HEADER_BYTES - 4, "Header");
+
+			int flags = header.get() & 0xFF;
+			blockTables = (flags & HufFormat.FLAG_BLOCK_TABLES) != 0;
+			fourStreams = (flags & HufFormat.FLAG_FOUR_STREAMS) != 0;
+			blockSize = header.getInt();
+			originalSize = header.getLong();
+			int blockCount = header.getInt();
+			if (blockSize < 1 || originalSize < 0 || blockCount != (originalSize + blockSize - 1) / blockSize
+					|| blockCount > (Integer.MAX_VALUE - 4) / HufFormat.INDEX_ENTRY_BYTES)
+				throw new IOException("Inconsistent block layout in " + file);
+			sharedCode = blockTables ? null : code(header.array(), header.position(), "header");
+
+			ByteBuffer index = read(HufFormat.HEADER_BYTES, blockCount * HufFormat.INDEX_ENTRY_BYTES + 4, "block index");
+			checkCrc(index, index.capacity() - 4, "Block index");
+			offsets = new long[blockCount];
+			storedLengths = new int[blockCount];
+			blockBits = new int[blockCount];
+			crcs = new int[blockCount];
+			for (int b = 0; b < blockCount; b++) {
+				offsets[b] = index.getLong();
+				storedLengths[b] = index.getInt();
+				blockBits[b] = index.getInt();
+				crcs[b] = index.getInt();
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public long getOriginalSize() {
+		return originalSize;
+	}
+
+	public int getBlockCount() {
+		return offsets.length;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * @param block Index of the block.
+	 * @return The amount of original bytes held by the block.
+	 */
+	public int getBlockLength(int block) {
+		return (int) Math.min(blockSize, originalSize - (long) block * blockSize);
+	}
+
+	/**
+	 * Checks a block against its checksum, without decoding it.
+	 *
+	 * @param block Index of the block.
+	 * @return Whether the stored bytes of the block are intact.
+	 * @throws IOException If the block can't be read.
+	 */
+	public boolean verifyBlock(int block) throws IOException {
+		checkBlock(block);
+		byte[] stored = read(offsets[block], storedLengths[block], "block " + block).array();
+		return HufFileWriter.crc(stored, 0, stored.length) == crcs[block];
+	}
+
+	/**
+	 * Checks every block against its checksum.
+	 *
+	 * @return The indexes of the damaged blocks, in order; empty when the whole container is intact.
+	 * @throws IOException If the container can't be read.
+	 */
+	public List<Integer> corruptBlocks() throws IOException {
+		List<Integer> corrupt = new ArrayList<>();
+		for (int b = 0; b < offsets.length; b++)
+			if (!verifyBlock(b))
+				corrupt.add(b);
+		return corrupt;
+	}
+
+	/**
+	 * Reads, verifies and decodes a single block.
+	 *
+	 * @param block Index of the block.
+	 * @return The original bytes of the block.
+	 * @throws IOException If the block can't be read, or is damaged.
+	 */
+	public byte[] readBlock(int block) throws IOException {
+		checkBlock(block);
+		return decodeBlock(block, getBlockLength(block));
+	}
+
+	/**
+	 * Reads and decodes the original bytes in positions {@code [start, end)} only. Just the blocks holding the range
+	 * are read, and the last one is only decoded up to {@code end} (unless it is split into four streams); with small
+	 * blocks, a short range of a huge file is read in about the time it takes to decode a single block.
+	 *
+	 * @param start Position of the first byte to read.
+	 * @param end   Position after the last byte to read.
+	 * @return The original bytes in the range.
+	 * @throws IOException If a block can't be read, or is damaged.
+	 */
+	public byte[] readRange(long start, long end) throws IOException {
+		if (start < 0 || end > originalSize || start > end)
+			throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of " + originalSize + " bytes");
+		if (end - start > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Range doesn't fit in a single array: " + (end - start) + " bytes");
+
+		byte[] result = new byte[(int) (end - start)];
+		for (long position = start; position < end; ) {
+			int block = (int) (position / blockSize);
+			long blockStart = (long) block * blockSize;
+			long stop = Math.min(end, blockStart + getBlockLength(block));
+			byte[] decoded = decodeBlock(block, (int) (stop - blockStart));
+			System.arraycopy(decoded, (int) (position - blockStart), result, (int) (position - start), (int) (stop - position));
+			position = stop;
+		}
+		return result;
+	}
+
+	/* Reads and verifies a block, and decodes its first length bytes. */
+	private byte[] decodeBlock(int block, int length) throws IOException {
+		byte[] stored = read(offsets[block], storedLengths[block], "block " + block).array();
+		if (HufFileWriter.crc(stored, 0, stored.length) != crcs[block])
+			throw new IOException("Block " + block + " is corrupted: checksum mismatch.");
+
+		int start = 0;
+		ByteHuffmanCode code = sharedCode;
+		if (blockTables) {
+			code = code(stored, 0, "block " + block);
+			start = HufFormat.TABLE_BYTES;
+		}
+		if (((blockBits[block] & 0xFFFFFFFFL) + 7) >>> 3 > stored.length - start)
+			throw new IOException("Block " + block + " is shorter than its bit count.");
+
+		if (fourStreams) {
+			/* The streams split the whole block, so it is decoded in full. */
+			byte[] result = new byte[getBlockLength(block)];
+			try {
+				code.decodeStreams(stored, start, stored.length - start, result, 0, result.length);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Block " + block + " is not valid: " + e.getMessage());
+			}
+			return length == result.length ? result : Arrays.copyOf(result, length);
+		}
+
+		byte[] result = new byte[length];
+		BitReader reader = new BitReader(stored, start, stored.length - start);
+		try {
+			code.decode(reader, result, 0, length);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Block " + block + " is not valid: " + e.getMessage());
+		}
+		if (reader.getBitPosition() > (blockBits[block] & 0xFFFFFFFFL))
+			throw new IOException("Block " + block + " ended before all of its bytes were decoded.");
+		return result;
+	}
+
+	/**
+	 * Decompresses the whole container, decoding its blocks in parallel, one batch at a time.
+	 *
+	 * @param outputFile Path of the file to create.
+	 * @return The amount of bytes written.
+	 * @throws IOException If either file can't be read or written, or a block is damaged.
+	 */
+	public long decompress(String outputFile) throws IOException {
+		int batch = Runtime.getRuntime().availableProcessors();
+		byte[][] decoded = new byte[batch][];
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile), HuffmanFileCodec.CHUNK_SIZE)) {
+			for (int first = 0; first < offsets.length; first += batch) {
+				int start = first;
+				int count = Math.min(batch, offsets.length - first);
+				try {
+					IntStream.range(0, count).parallel().forEach(i -> {
+						try {
+							decoded[i] = readBlock(start + i);
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+				for (int i = 0; i < count; i++)
+					out.write(decoded[i]);
+			}
+		}
+		return originalSize;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void checkBlock(int block) {
+		if (block < 0 || block >= offsets.length)
+			throw new IndexOutOfBoundsException("Block " + block + " out of " + offsets.length);
+	}
+
+	/* Positional read, safe to call from several threads at once. */
+	private ByteBuffer read(long position, int length, String what) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining())
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				throw new IOException("Unexpected end of file while reading the " + what + ".");
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void checkCrc(ByteBuffer buffer, int length, String what) throws IOException {
+		if (HufFileWriter.crc(buffer.array(), 0, length) != buffer.getInt(length))
+			throw new IOException(what + " is corrupted: checksum mismatch.");
+	}
+
+	private static ByteHuffmanCode code(byte[] table, int offset, String what) throws IOException {
+		try {
+			return new ByteHuffmanCode(HufFormat.unpackLengths(table, offset));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid code length table in the " + what + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package prj02;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes {@code .huf} containers, laid out as described in {@code HufFormat}. The input is read one batch of blocks
+ * at a time, and the blocks of a batch are encoded in parallel, so memory use only depends on the block size and the
+ * amount of cores. The block index is written last, into the space reserved for it right after the header.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HufFileWriter {
+	/* The index stores the bit count of a block in 4 bytes, which 512 MB of 8 bit codes would overflow. */
+	public static final int MAX_BLOCK_SIZE = (1 << 29) - 1;
+
+	private final int blockSize;
+	private final boolean blockTables;
+	private final boolean fourStreams;
+
+	/**
+	 * @param blockSize   The amount of input bytes in every block, at most {@code MAX_BLOCK_SIZE}.
+	 * @param blockTables Whether every block gets its own code, fitted to its own bytes, instead of sharing a single
+	 *                    code for the whole file. Saves the first pass over the input, and adapts to data whose
+	 *                    statistics change along the file, at the cost of a 128 byte table per block.
+	 * @param fourStreams Whether every block is encoded as four interleaved streams, which a single core decodes
+	 *                    faster, at the cost of a 16 byte jump table per block. Reading a range then decodes every
+	 *                    block it touches in full.
+	 */
+	public HufFileWriter(int blockSize, boolean blockTables, boolean fourStreams) {
+		if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+			throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE + ".");
+		this.blockSize = blockSize;
+		this.blockTables = blockTables;
+		this.fourStreams = fourStreams;
+	}
+
+	public HufFileWriter(int blockSize, boolean blockTables) {
+		this(blockSize, blockTables, false);
+	}
+
+	public HufFileWriter() {
+		this(BlockEncoder.DEFAULT_BLOCK_SIZE, false);
+	}
+
+	/* A block as it is stored in the container. */
+	private static class Block {
+		private final byte[] stored;
+		private final long bits;
+		private final int crc;
+
+		Block(byte[] stored, long bits) {
+			this.stored = stored;
+			this.bits = bits;
+			CRC32C checksum = new CRC32C();
+			checksum.update(stored);
+			this.crc = (int) checksum.getValue();
+		}
+	}
+
+	/**
+	 * Compresses a file of any size into a container.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the container to create.
+	 * @return The size of the container, in bytes.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public long write(String inputFile, String outputFile) throws IOException {
+		long originalSize = Files.size(Paths.get(inputFile));
+		long blockCount = (originalSize + blockSize - 1) / blockSize;
+		if (blockCount * HufFormat.INDEX_ENTRY_BYTES + 4 > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Too many blocks for the index; use a larger block size.");
+
+		/* With a single code for the whole file, a first pass counts the bytes of the whole file. */
+		ByteHuffmanCode shared = null;
+		int[] sharedLengths = new int[256];
+		if (!blockTables) {
+			shared = ByteHuffmanCode.fromFrequencies(histogram(inputFile));
+			sharedLengths = shared.getLengths();
+		}
+
+		try (RandomAccessFile out = new RandomAccessFile(outputFile, "rw");
+			 InputStream in = new BufferedInputStream(new FileInputStream(inputFile))) {
+			out.setLength(0);
+			out.write(header(originalSize, (int) blockCount, sharedLengths));
+
+			ByteBuffer index = ByteBuffer.allocate((int) blockCount * HufFormat.INDEX_ENTRY_BYTES + 4);
+			out.seek(HufFormat.HEADER_BYTES + index.capacity());
+
+			int batch = Runtime.getRuntime().availableProcessors();
+			byte[][] raw = new byte[batch][];
+			Block[] encoded = new Block[batch];
+			final ByteHuffmanCode code = shared;
+			for (long first = 0; first < blockCount; first += batch) {
+				int count = (int) Math.min(batch, blockCount - first);
+				for (int i = 0; i < count; i++) {
+					int length = (int) Math.min(blockSize, originalSize - (first + i) * blockSize);
+					raw[i] = in.readNBytes(length);
+					if (raw[i].length != length)
+						throw new IOException("Input file changed while it was being compressed: " + inputFile);
+				}
+
+				IntStream.range(0, count).parallel().forEach(i -> encoded[i] = encodeBlock(raw[i], code));
+
+				for (int i = 0; i < count; i++) {
+					if (encoded[i].bits >>> 32 != 0)
+						throw new IllegalArgumentException("Block " + (first + i) + " takes too many bits for the index; "
+								+ "use a smaller block size.");
+					index.putLong(out.getFilePointer());
+					index.putInt(encoded[i].stored.length);
+					index.putInt((int) encoded[i].bits);
+					index.putInt(encoded[i].crc);
+					out.write(encoded[i].stored);
+				}
+			}
+
+			index.putInt(crc(index.array(), 0, index.position()));
+			out.seek(HufFormat.HEADER_BYTES);
+			out.write(index.array());
+			return out.length();
+		}
+	}
+
+	/* Encodes a block with the shared code, or with its own code, stored in front of it, when there is none. */
+	private Block encodeBlock(byte[] data, ByteHuffmanCode shared) {
+		ByteHuffmanCode code = shared != null ? shared : ByteHuffmanCode.fromFrequencies(HuffmanCoding.compute_fd_bytes(data));
+		PackedBits bits;
+		if (fourStreams) {
+			/* The jump table holds the bits of every stream; the index just counts every stored bit. */
+			byte[] streams = code.encodeStreams(data);
+			bits = new PackedBits(streams, (long) streams.length * 8, data.length);
+		}
+		else
+			bits = code.encode(data);
+		if (shared != null)
+			return new Block(trim(bits), bits.getBitLength());
+
+		byte[] stored = new byte[HufFormat.TABLE_BYTES + bits.getByteLength()];
+		System.arraycopy(HufFormat.packLengths(code.getLengths()), 0, stored, 0, HufFormat.TABLE_BYTES);
+		System.arraycopy(bits.getBytes(), 0, stored, HufFormat.TABLE_BYTES, bits.getByteLength());
+		return new Block(stored, bits.getBitLength());
+	}
+
+	private byte[] header(long originalSize, int blockCount, int[] lengths) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(HufFormat.HEADER_BYTES);
+		DataOutputStream header = new DataOutputStream(bytes);
+		header.writeInt(HufFormat.MAGIC);
+		header.writeByte(HufFormat.VERSION);
+		header.writeByte((blockTables ? HufFormat.FLAG_BLOCK_TABLES : 0) | (fourStreams ? HufFormat.FLAG_FOUR_STREAMS : 0));
+		header.writeInt(blockSize);
+		header.writeLong(originalSize);
+		header.writeInt(blockCount);
+		header.write(HufFormat.packLengths(lengths));
+		header.writeInt(crc(bytes.toByteArray(), 0, bytes.size()));
+		return bytes.toByteArray();
+	}
+
+	private static long[] histogram(String inputFile) throws IOException {
+		long[] frequencies = new long[256];
+		byte[] chunk = new byte[HuffmanFileCodec.CHUNK_SIZE];
+		try (InputStream in = new FileInputStream(inputFile)) {
+			int read;
+			while ((read = in.read(chunk)) > 0)
+				for (int i = 0; i < read; i++)
+					frequencies[chunk[i] & 0xFF]++;
+		}
+		return frequencies;
+	}
+
+	private static byte[] trim(PackedBits bits) {
+		byte[] bytes = bits.getBytes();
+		return bytes.length == bits.getByteLength() ? bytes : Arrays.copyOf(bytes, bits.getByteLength());
+	}
+
+	static int crc(byte[] bytes, int offset, int length) {
+		CRC32C checksum = new CRC32C();
+		checksum.update(bytes, offset, length);
+		return (int) checksum.getValue();
+	}
+}
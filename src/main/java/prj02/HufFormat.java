@@ -0,0 +1,69 @@
+package prj02;
+
+/**
+ * Layout of the self describing compressed container ({@code .huf} files) written by {@code HufFileWriter} and read by
+ * {@code HufFileReader}. Every number is stored big endian.
+ *
+ * <pre>
+ * header      magic "HUF\0" (4), version (1), flags (1), block size (4), original size (8), block count (4),
+ *             code length table (128), CRC32C of the previous fields (4)
+ * index       for every block: file offset (8), stored length (4), code bits (4), CRC32C of the stored bytes (4);
+ *             followed by the CRC32C of the whole index (4)
+ * blocks      for every block: its own code length table (128) when FLAG_BLOCK_TABLES is set, then the packed codes,
+ *             as a single stream, or as the jump table and four streams of {@code ByteHuffmanCode.encodeStreams} when
+ *             FLAG_FOUR_STREAMS is set
+ * </pre>
+ *
+ * A code length table holds the length of the code of each of the 256 byte values in 4 bits, two per byte; codes
+ * are canonical, so the lengths are all that is needed to decode. Since every block has its own checksum and its
+ * offset in the index, a damaged block is found by checking the checksums alone, without decoding anything, and
+ * every other block can still be read.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HufFormat {
+	public static final int MAGIC = 0x48554600; //"HUF\0"
+	public static final int VERSION = 1;
+	/* Every block has its own code length table instead of using the one in the header. */
+	public static final int FLAG_BLOCK_TABLES = 1;
+	/* Every block is split into four interleaved streams, which decode faster on a single core. */
+	public static final int FLAG_FOUR_STREAMS = 2;
+
+	public static final int TABLE_BYTES = 128;
+	public static final int HEADER_BYTES = 4 + 1 + 1 + 4 + 8 + 4 + TABLE_BYTES + 4;
+	public static final int INDEX_ENTRY_BYTES = 8 + 4 + 4 + 4;
+
+	/**
+	 * Packs 256 code lengths, each at most 15, into 4 bits each.
+	 *
+	 * @param lengths The code length of every byte value.
+	 * @return The packed table.
+	 */
+	public static byte[] packLengths(int[] lengths) {
+		byte[] table = new byte[TABLE_BYTES];
+		for (int b = 0; b < 256; b += 2) {
+			if ((lengths[b] | lengths[b + 1]) > 15 || lengths[b] < 0 || lengths[b + 1] < 0)
+				throw new IllegalArgumentException("Code lengths must be between 0 and 15.");
+			table[b >>> 1] = (byte) ((lengths[b] << 4) | lengths[b + 1]);
+		}
+		return table;
+	}
+
+	/**
+	 * Reverses {@code packLengths}.
+	 *
+	 * @param table  Array holding a packed table.
+	 * @param offset Position of the table in the array.
+	 * @return The code length of every byte value.
+	 */
+	public static int[] unpackLengths(byte[] table, int offset) {
+		int[] lengths = new int[256];
+		for (int b = 0; b < 256; b += 2) {
+			lengths[b] = (table[offset + (b >>> 1)] >>> 4) & 0xF;
+			lengths[b + 1] = table[offset + (b >>> 1)] & 0xF;
+		}
+		return lengths;
+	}
+}
@@ -5,11 +5,15 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import HashTable.*;
 import List.*;
+import PriorityQueue.*;
 import SortedList.*;
 import Tree.*;
 
@@ -36,19 +40,45 @@ public class HuffmanCoding {
 
 	/* This method just runs all the main methods developed or the algorithm */
 	private static void HuffmanEncodedResult() {
-		String data = load_data("input5.txt"); //You can create other test input files and add them to the inputData Folder
+		/* Run with -Dhuffman.metrics=true to print the time, throughput and allocations of every step. */
+		PipelineMetrics metrics = PipelineMetrics.fromSystemProperty();
+
+		String data;
+		try(PipelineMetrics.Stage stage = metrics.stage("load_data", 0)){
+			data = load_data("input5.txt"); //You can create other test input files and add them to the inputData Folder
+			stage.setBytesOut(text_bytes(data));
+		}
 
 		/*If input string is not empty we can encode the text using our algorithm*/
 		if(!data.isEmpty()) {
-			Map<String, Integer> fD = compute_fd(data);
-			BTNode<Integer,String> huffmanRoot = huffman_tree(fD);
-			Map<String,String> encodedHuffman = huffman_code(huffmanRoot);
-			String output = encode(encodedHuffman, data);
-			process_results(fD, encodedHuffman,data,output);
+			Map<String, Integer> fD = metrics.measure("compute_fd", text_bytes(data), () -> compute_fd(data));
+			/* The tree and the codes are measured against the input text, so their MB/s compare with the other stages. */
+			BTNode<Integer,String> huffmanRoot = metrics.measure("huffman_tree", text_bytes(data), () -> huffman_tree(fD));
+			Map<String,String> encodedHuffman = metrics.measure("huffman_code", text_bytes(data), () -> huffman_code(huffmanRoot));
+			String output;
+			try(PipelineMetrics.Stage stage = metrics.stage("encode", text_bytes(data))){
+				output = encode(encodedHuffman, data);
+				stage.setBytesOut((output.length() + 7) / 8);
+			}
+			String decoded;
+			try(PipelineMetrics.Stage stage = metrics.stage("decodeHuff", (output.length() + 7) / 8)){
+				decoded = decodeHuff(output, encodedHuffman);
+				stage.setBytesOut(text_bytes(decoded));
+			}
+			process_results(fD, encodedHuffman, data, output, decoded);
 		} else {
 			System.out.println("Input Data Is Empty! Try Again with a File that has data inside!");
 		}
 
+		if(metrics.isEnabled()){
+			System.out.println();
+			metrics.print(System.out);
+		}
+	}
+
+	/* Size of a text in memory, as UTF-16, used as the amount of bytes a stage reads or writes. */
+	private static long text_bytes(String text) {
+		return (long) text.length() * Character.BYTES;
 	}
 
 	/**
@@ -117,50 +147,413 @@ public class HuffmanCoding {
 		return map;
 	}
 
+	/**
+	 * Word level version of {@code compute_fd}: the keys are the tokens of the input text, as split by
+	 * {@code TokenHuffman.tokenize}, so every word and every character between words is a key. A text has far more
+	 * distinct words than characters, so the map is a {@code HashTableOA}, hashed with the strings' own hash codes.
+	 *
+	 * @param inputString The input string received from the given text file.
+	 * @return Map with each unique token as a key and its number of occurrences as the value.
+	 */
+	public static Map<String, Integer> compute_fd_tokens(String inputString) {
+		HashTableOA<String, Integer> map = new HashTableOA<>(new ObjectHashFunction<>());
+
+		for(String token : TokenHuffman.tokenize(inputString)){
+			Integer count = map.get(token);
+			map.put(token, count == null ? 1 : count + 1);
+		}
+		return map;
+	}
+
+	/**
+	 * Code point version of {@code compute_fd}: a supplementary character, such as an emoji, is counted once, instead
+	 * of once for each of its two surrogate chars. The counts are kept in primitive arrays and tables, keyed by the
+	 * int value of the code point, instead of a map of one character strings; see {@code CodePointCode} for the codes.
+	 *
+	 * @param inputString The input string received from the given text file.
+	 * @return The frequency of every code point of the input.
+	 */
+	public static CodePointHistogram compute_fd_code_points(String inputString) {
+		CodePointHistogram histogram = new CodePointHistogram();
+		histogram.add(inputString);
+		return histogram;
+	}
+
+	/**
+	 * Parallel version of {@code compute_fd}. The input string is split into a few pieces per worker of a
+	 * {@code ForkJoinPool}, and every worker counts the pieces it takes into its own array indexed by character; the
+	 * arrays are then added together and turned into the same frequency distribution map that {@code compute_fd}
+	 * returns.
+	 *
+	 * @param inputString The input string received from the given text file.
+	 * @param threshold Inputs no longer than this are counted sequentially, since splitting them would cost more than
+	 *                  it saves.
+	 * @return Map with each unique character as a key and its number of occurrences as the value.
+	 */
+	public static Map<String, Integer> compute_fd_parallel(String inputString, int threshold) {
+		int[] histogram = ParallelFrequency.countChars(inputString, threshold);
+
+		int distinct = 0;
+		for(int count : histogram)
+			if(count > 0) distinct++;
+
+		HashTableSC<String, Integer> map = new HashTableSC<>(distinct + 1, new SimpleHashFunction<>());
+		for(int c = 0; c < histogram.length; c++){
+			if(histogram[c] > 0)
+				map.put(String.valueOf((char) c), histogram[c]);
+		}
+		return map;
+	}
+
+	/**
+	 * Same as {@code compute_fd_parallel(String, int)}, counting inputs of up to
+	 * {@code ParallelFrequency.DEFAULT_THRESHOLD} characters sequentially.
+	 *
+	 * @param inputString The input string received from the given text file.
+	 * @return Map with each unique character as a key and its number of occurrences as the value.
+	 */
+	public static Map<String, Integer> compute_fd_parallel(String inputString) {
+		return compute_fd_parallel(inputString, ParallelFrequency.DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Receives a file named in parameter inputFile and returns all of its bytes. Unlike {@code load_data}, the whole
+	 * file is read, not just the first line, and nothing is decoded, so any kind of file can be compressed in byte mode.
+	 *
+	 * @param inputFile name of the file to be processed in the path inputData/
+	 * @return The bytes of the file, or an empty array if it can't be read.
+	 */
+	public static byte[] load_bytes(String inputFile) {
+		try {
+			return Files.readAllBytes(Paths.get("inputData", inputFile));
+		} catch (IOException e) {
+			e.printStackTrace();
+			return new byte[0];
+		}
+	}
+
+	/**
+	 * Computes the frequency distribution of the input bytes. Since a byte can only take 256 values, the result is a
+	 * flat array indexed by the unsigned value of the byte instead of a map, and counting doesn't allocate anything.
+	 *
+	 * @param input The bytes to be encoded.
+	 * @return Array with the number of occurrences of each byte value.
+	 */
+	public static int[] compute_fd_bytes(byte[] input) {
+		int[] fD = new int[256];
+		for(byte b : input)
+			fD[b & 0xFF]++;
+		return fD;
+	}
+
 	/**
 	 * Given the frequency distribution map of the input text, creates a Huffman tree. The tree is built
      * from the leaves of the tree to its root by repeatedly combining the nodes with the lowest frequencies
      * into a single root node. The root node's key is the combined values of the subtrees' frequencies, and its value, the
 	 * combined characters. Similarly, the nodes' are key-value pairs with the characters' frequency as the keys and their
-	 * corresponding character as the values. A {@code SortedList} automatically sorts the nodes.
+	 * corresponding character as the values. A {@code BinaryHeap} keeps the nodes ordered by {@code BTNode.compareTo},
+	 * so taking the two lowest nodes and adding their parent costs O(log n) instead of the linear walk of a
+	 * {@code SortedList}, and the whole tree is built in O(n log n) for an alphabet of n symbols.
 	 *
 	 * @param fD A frequency distribution map from the input text.
 	 * @return The root node of the completed Huffman tree.
 	 */
 	public static BTNode<Integer, String> huffman_tree(Map<String, Integer> fD) {
-		SortedLinkedList<BTNode<Integer, String>> sll = orderFrequencies(fD);
+		BinaryHeap<BTNode<Integer, String>> heap = new BinaryHeap<>(Math.max(1, fD.size()));
+		for(String key : fD.getKeys()){
+			heap.add(new BTNode<>(fD.get(key), key));
+		}
+		return huffman_tree(heap);
+	}
 
-		while(sll.size() > 1){ //the last element is the root node
-			/* Since the Sorted List is already ordered, the two lowest values have the lowest frequencies. */
-			BTNode<Integer, String> node1 = sll.removeIndex(0);
-			BTNode<Integer, String> node2 = sll.removeIndex(0);
+	/**
+	 * Builds the Huffman tree out of the nodes in the given priority queue, which is left holding only the root.
+	 *
+	 * @param queue A priority queue with a leaf node for each character, ordered by {@code BTNode.compareTo}.
+	 * @return The root node of the completed Huffman tree.
+	 */
+	public static BTNode<Integer, String> huffman_tree(PriorityQueue<BTNode<Integer, String>> queue) {
+		while(queue.size() > 1){ //the last element is the root node
+			/* The queue always hands out the two nodes with the lowest frequencies first. */
+			BTNode<Integer, String> node1 = queue.removeMin();
+			BTNode<Integer, String> node2 = queue.removeMin();
 			BTNode<Integer, String> rootNode = new BTNode<>(node1.getKey() + node2.getKey(),
 					node1.getValue() + node2.getValue()); //combine these into a root node
 
-			/* Creates the tree. SLL uses BTNode's comparator which accounts for the frequency tie-breaker. */
+			/* Creates the tree. The queue uses BTNode's comparator which accounts for the frequency tie-breaker. */
 			rootNode.setLeftChild(node1);
 			rootNode.setRightChild(node2);
 			/* Children should have the same parent, connects tree. */
 			node1.setParent(rootNode);
 			node2.setParent(rootNode);
-			/* Update SLL by adding the root node. */
-			sll.add(rootNode);
+			/* Update the queue by adding the root node. */
+			queue.add(rootNode);
 		}
 
-		return sll.removeIndex(0); //stores less memory by removing the root node
+		return queue.removeMin(); //stores less memory by removing the root node
+	}
+
+	/**
+	 * Same as {@code huffman_tree}, but the tree is stored in a few parallel arrays indexed by node id instead of
+	 * {@code BTNode}s, and internal nodes don't hold the concatenation of the characters beneath them. Memory is
+	 * linear in the size of the alphabet, and the codes are the same ones {@code huffman_tree} leads to.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @return The completed Huffman tree.
+	 */
+	public static HuffmanTree huffman_tree_compact(Map<String, Integer> fD) {
+		return HuffmanTree.build(fD);
 	}
 
 	/**
 	 * Given the root of the Huffman tree, traverses it to obtain the corresponding Huffman code of each character. The
 	 * Huffman codes are stored in a map with keys representing each character. Each characters' value are mapped to their
-	 * corresponding Huffman codes, of type string. Utilizes a helper function to traverse the
-	 * Huffman tree.
+	 * corresponding Huffman codes, of type string. The codes are read into a {@code CodeTable} first, so strings are
+	 * only made for the leaves, once per character.
 	 *
 	 * @param huffmanRoot The root of the constructed Huffman tree.
 	 * @return A map containing each unique character and their corresponding Huffman code.
 	 */
 	public static Map<String, String> huffman_code(BTNode<Integer,String> huffmanRoot) {
-		return traversal_helper(huffmanRoot, new HashTableSC<>(new SimpleHashFunction<>()), "");
+		return huffman_code_table(huffmanRoot).toMap();
+	}
+
+	/**
+	 * Helper function which, given the root of a Huffman tree, obtains the corresponding Huffman code of each
+	 * character and places it into the given map, after the given code of the root.
+	 *
+	 * @param huffmanRoot The root of the Huffman tree to be traversed.
+	 * @param map Places each character, the value of a leaf node, as the keys and their corresponding
+	 *            Huffman codes as the value.
+	 * @param code The Huffman code of the root, as a string.
+	 * @return The final, updated map with each distinct character from the input text and their Huffman codes.
+	 * @deprecated Use {@code huffman_code}, or {@code huffman_code_table} to avoid the strings entirely. The tree is
+	 * now read with {@code CodeTable.fromTree}, and this method only copies its codes into the map.
+	 */
+	@Deprecated
+	public static Map<String, String> traversal_helper(BTNode<Integer,String> huffmanRoot, Map<String, String> map, String code) {
+		Map<String, String> codes = CodeTable.fromTree(huffmanRoot).toMap();
+		for(String key : codes.getKeys())
+			map.put(key, code + codes.get(key));
+		return map;
+	}
+
+	/**
+	 * Given the root of the Huffman tree, obtains the code of each character as a {@code long} holding its bits and a
+	 * {@code byte} holding its length, instead of a string. The tree is traversed with an explicit stack rather than
+	 * recursively, and nothing is allocated per node, so the codes can go straight into {@code encode_packed}.
+	 *
+	 * @param huffmanRoot The root of the constructed Huffman tree.
+	 * @return The code of each unique character.
+	 */
+	public static CodeTable huffman_code_table(BTNode<Integer,String> huffmanRoot) {
+		return CodeTable.fromTree(huffmanRoot);
+	}
+
+	/**
+	 * Same as {@code huffman_code}, for a tree built by {@code huffman_tree_compact}.
+	 *
+	 * @param huffmanTree The constructed Huffman tree.
+	 * @return A map containing each unique character and their corresponding Huffman code.
+	 */
+	public static Map<String, String> huffman_code(HuffmanTree huffmanTree) {
+		return huffmanTree.codes();
+	}
+
+	/**
+	 * Given the root of the Huffman tree, obtains only the length of each character's Huffman code, which is the depth
+	 * of its leaf. Together with {@code canonical_code}, this is all that is needed to rebuild the codes, so a
+	 * compressed result only has to store one length per symbol instead of the tree or the code strings.
+	 *
+	 * @param huffmanRoot The root of the constructed Huffman tree.
+	 * @return A map containing each unique character and the length of its Huffman code.
+	 */
+	public static Map<String, Integer> code_lengths(BTNode<Integer,String> huffmanRoot) {
+		return huffman_code_table(huffmanRoot).lengthMap();
+	}
+
+	/**
+	 * Given the frequency distribution map of the input text, obtains the length of each character's Huffman code with
+	 * the chosen engine. {@code IN_PLACE} skips the tree entirely: once the frequencies are sorted, the lengths are
+	 * computed in linear time within a single {@code int} array, which makes it the engine for huge alphabets.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @param engine How to compute the code.
+	 * @return A map containing each unique character and the length of its Huffman code.
+	 */
+	public static Map<String, Integer> code_lengths(Map<String, Integer> fD, CodeEngine engine) {
+		if(engine == CodeEngine.TREE)
+			return code_lengths(huffman_tree(fD));
+
+		String[] symbols = new String[fD.size()];
+		int[] lengths;
+		if(engine == CodeEngine.ARRAYS){
+			HuffmanTree tree = huffman_tree_compact(fD);
+			for(int i = 0; i < symbols.length; i++)
+				symbols[i] = tree.getSymbol(i);
+			lengths = tree.codeLengths();
+		}
+		else{
+			int[] weights = new int[symbols.length];
+			int i = 0;
+			for(String key : fD.getKeys()){
+				symbols[i] = key;
+				weights[i++] = fD.get(key);
+			}
+			lengths = MinimumRedundancy.codeLengths(weights);
+		}
+
+		HashTableSC<String, Integer> map = new HashTableSC<>(symbols.length + 1, new SimpleHashFunction<>());
+		for(int i = 0; i < symbols.length; i++)
+			map.put(symbols[i], lengths[i]);
+		return map;
+	}
+
+	/**
+	 * Given the frequency distribution map of the input text, computes the Huffman code of each character with the
+	 * chosen engine. {@code TREE} and {@code ARRAYS} give the codes of {@code huffman_tree}; {@code IN_PLACE} gives the
+	 * canonical codes for its lengths, which are different codes with the same encoded size.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @param engine How to compute the code.
+	 * @return A map containing each unique character and their corresponding Huffman code.
+	 */
+	public static Map<String, String> huffman_code(Map<String, Integer> fD, CodeEngine engine) {
+		if(engine == CodeEngine.TREE)
+			return huffman_code(huffman_tree(fD));
+		if(engine == CodeEngine.ARRAYS)
+			return huffman_code(huffman_tree_compact(fD));
+		return canonical_code(code_lengths(fD, engine));
+	}
+
+	/**
+	 * Given the length of each character's code, assigns canonical Huffman codes. Symbols are ordered by code length,
+	 * and symbols with the same length by their value; the first symbol gets the code made of zeros, and every next
+	 * symbol gets the previous code plus one, shifted left whenever the length grows. The result is a prefix code with
+	 * the same lengths, and therefore the same encoded size, as the tree's codes, which only depends on the lengths.
+	 *
+	 * @param codeLengths A map containing each unique character and the length of its Huffman code.
+	 * @return A map containing each unique character and their corresponding canonical Huffman code.
+	 */
+	public static Map<String, String> canonical_code(Map<String, Integer> codeLengths) {
+		String[] ordered = canonicalOrder(codeLengths);
+		HashTableSC<String, String> map = new HashTableSC<>(ordered.length + 1, new SimpleHashFunction<>());
+
+		long code = 0;
+		int length = 0;
+		for(String symbol : ordered){
+			int symbolLength = codeLengths.get(symbol);
+			code <<= symbolLength - length; //a longer code appends zeros to the next code of the shorter length
+			length = symbolLength;
+			if(length < 64 && (code >>> length) != 0)
+				throw new IllegalArgumentException("Code lengths don't form a prefix code.");
+
+			StringBuilder bits = new StringBuilder(length);
+			for(int i = length - 1; i >= 0; i--)
+				bits.append((code >>> i) & 1);
+			map.put(symbol, bits.toString());
+			code++;
+		}
+		return map;
+	}
+
+	/**
+	 * Given the frequency distribution map of the input text, computes the code length of each character when no code
+	 * may be longer than {@code maxLength} bits. Deep codes make decoding tables large and no longer fit in a single
+	 * read of the bit buffer, so capping them trades a little compression for speed. Uses {@code PackageMerge}, which
+	 * gives the best possible lengths under the cap; when the cap is at least as deep as the Huffman tree, the result
+	 * is as good as {@code huffman_tree}'s. Use {@code canonical_code} to turn the lengths into codes.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @param maxLength The longest code allowed, in bits (e.g. 11, 12 or 15).
+	 * @return A map containing each unique character and the length of its code.
+	 */
+	public static Map<String, Integer> limited_code_lengths(Map<String, Integer> fD, int maxLength) {
+		String[] symbols = new String[fD.size()];
+		long[] weights = new long[fD.size()];
+		int n = 0;
+		for(String key : fD.getKeys()){
+			symbols[n] = key;
+			weights[n++] = fD.get(key);
+		}
+
+		int[] lengths = PackageMerge.codeLengths(weights, maxLength);
+		HashTableSC<String, Integer> map = new HashTableSC<>(n + 1, new SimpleHashFunction<>());
+		for(int i = 0; i < n; i++)
+			map.put(symbols[i], lengths[i]);
+		return map;
+	}
+
+	/**
+	 * Computes how many bits the encoded input takes with the given code lengths, without encoding it: every
+	 * character contributes its frequency times the length of its code.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @param codeLengths A map containing each unique character and the length of its code.
+	 * @return The size of the encoded input, in bits.
+	 */
+	public static long encoded_size(Map<String, Integer> fD, Map<String, Integer> codeLengths) {
+		long bits = 0;
+		for(String key : fD.getKeys())
+			bits += (long) fD.get(key) * codeLengths.get(key);
+		return bits;
+	}
+
+	/**
+	 * Reports the compression cost of capping the code length at {@code maxLength}, compared to the unrestricted codes
+	 * of {@code huffman_tree}.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @param maxLength The longest code allowed, in bits.
+	 * @return How many more bits the encoded input takes with the cap. 0 when the cap doesn't change the size.
+	 */
+	public static long length_limit_cost(Map<String, Integer> fD, int maxLength) {
+		if(fD.isEmpty()) return 0;
+		long unrestricted = encoded_size(fD, code_lengths(huffman_tree(fD)));
+		return encoded_size(fD, limited_code_lengths(fD, maxLength)) - unrestricted;
+	}
+
+	/**
+	 * Analyzes how well the input compresses without encoding it, unlike {@code process_results}, which measures the
+	 * encoded string. The sizes are exact: the encoded bits are the sum of the frequency times the code length of every
+	 * character, and the header is the one {@code HuffmanFileCodec.compressText} writes, a character and its code length
+	 * for every distinct character.
+	 *
+	 * @param inputString The input string received from the given text file.
+	 * @return The sizes, entropy and redundancy of the Huffman code of the input.
+	 */
+	public static CompressionStats analyze(String inputString) {
+		return analyze(compute_fd(inputString));
+	}
+
+	/**
+	 * Same as {@code analyze(String)}, from the frequency distribution of the input, so the input itself isn't needed.
+	 * The code lengths are the ones {@code compressText} writes, capped at {@code HuffmanFileCodec.MAX_CODE_LENGTH}
+	 * bits, and a lone character is given a 1 bit code, as every decoder needs at least one bit per symbol.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @return The sizes, entropy and redundancy of the Huffman code of the input.
+	 */
+	public static CompressionStats analyze(Map<String, Integer> fD) {
+		long[] frequencies = new long[fD.size()];
+		long inputBytes = 0;
+		int i = 0;
+		for(String key : fD.getKeys()){
+			frequencies[i++] = fD.get(key);
+			inputBytes += (long) fD.get(key) * utf8_length(key);
+		}
+		int[] lengths = CanonicalCode.lengths(frequencies, HuffmanFileCodec.MAX_CODE_LENGTH);
+		return new CompressionStats(frequencies, lengths, HuffmanFileCodec.headerBytes(fD.size(), 3), inputBytes);
+	}
+
+	/* Bytes taken by the characters of a key in UTF-8; each half of a surrogate pair takes half of its 4 bytes. */
+	private static int utf8_length(String key) {
+		int bytes = 0;
+		for(int i = 0; i < key.length(); i++){
+			char c = key.charAt(i);
+			bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+		}
+		return bytes;
 	}
 
     /**
@@ -181,6 +574,62 @@ public class HuffmanCoding {
 		return output.toString(); //encoded binary string
 	}
 
+	/**
+	 * Given the encoding map, generates the Huffman encoding of the given input string as packed bits, eight to a
+	 * byte, instead of a string of '0' and '1' characters. The codes are converted to integers once, into a table
+	 * indexed by character, so the input is encoded without allocating a string per character.
+	 *
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes.
+	 * @param inputString The input string received from the given text file.
+	 * @return The packed Huffman encoding of the {@code inputString} parameter.
+	 */
+	public static PackedBits encode_packed(Map<String, String> encodingMap, String inputString) {
+		return encode_packed(CodeTable.fromMap(encodingMap), inputString, null, 0);
+	}
+
+	/**
+	 * Same as {@code encode_packed}, with the codes given as the primitive table built by {@code huffman_code_table}.
+	 *
+	 * @param codeTable The code of each character.
+	 * @param inputString The input string received from the given text file.
+	 * @return The packed Huffman encoding of the {@code inputString} parameter.
+	 */
+	public static PackedBits encode_packed(CodeTable codeTable, String inputString) {
+		return encode_packed(codeTable, inputString, null, 0);
+	}
+
+	/**
+	 * Same as {@code encode_packed}, also recording the bit offset of every {@code interval}-th character, so that
+	 * {@code decode_range} can decode any slice of the input without decoding everything before it.
+	 *
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes.
+	 * @param inputString The input string received from the given text file.
+	 * @param interval Amount of characters between checkpoints.
+	 * @return The packed Huffman encoding of the {@code inputString} parameter, with its checkpoint index.
+	 */
+	public static IndexedEncoding encode_indexed(Map<String, String> encodingMap, String inputString, int interval) {
+		if(interval < 1)
+			throw new IllegalArgumentException("Checkpoint interval must be at least 1.");
+		long[] checkpoints = new long[(int) (((long) inputString.length() + interval - 1) / interval)];
+		PackedBits bits = encode_packed(CodeTable.fromMap(encodingMap), inputString, checkpoints, interval);
+		return new IndexedEncoding(bits, checkpoints, interval);
+	}
+
+	/* Encodes into packed bits; when checkpoints isn't null, stores the bit offset of every interval-th character. */
+	private static PackedBits encode_packed(CodeTable codeTable, String inputString, long[] checkpoints, int interval) {
+		/* Roughly one byte per character is a good first guess; the writer grows if needed. */
+		BitWriter writer = new BitWriter(Math.max(1, inputString.length()));
+		int untilCheckpoint = 0;
+		for(int i = 0; i < inputString.length(); i++){
+			if(checkpoints != null && --untilCheckpoint < 0){
+				checkpoints[i / interval] = writer.getBitCount();
+				untilCheckpoint = interval - 1;
+			}
+			codeTable.write(inputString.charAt(i), writer);
+		}
+		return writer.finish(inputString.length());
+	}
+
 	/**
 	 * Receives the frequency distribution map, the Huffman Prefix Code HashTable, the input string,
 	 * and the output string, and prints the results to the screen (per specifications).
@@ -194,6 +643,20 @@ public class HuffmanCoding {
 	 * @param output processed encoded string
 	 */
 	public static void process_results(Map<String, Integer> fD, Map<String, String> encodedHuffman, String inputData, String output) {
+		process_results(fD, encodedHuffman, inputData, output, decodeHuff(output, encodedHuffman));
+	}
+
+	/**
+	 * Same as {@code process_results(Map, Map, String, String)}, with the encoded string already decoded, so that the
+	 * decoding can be timed on its own.
+	 *
+	 * @param fD Frequency Distribution of all the characters in input string
+	 * @param encodedHuffman Prefix Code Map
+	 * @param inputData text string from the input file
+	 * @param output processed encoded string
+	 * @param decoded the encoded string decoded with {@code decodeHuff}
+	 */
+	public static void process_results(Map<String, Integer> fD, Map<String, String> encodedHuffman, String inputData, String output, String decoded) {
 		/*To get the bytes of the input string, we just get the bytes of the original string with string.getBytes().length*/
 		int inputBytes = inputData.getBytes().length;
 
@@ -250,7 +713,7 @@ public class HuffmanCoding {
 
 		System.out.println("\nOriginal String: \n" + inputData);
 		System.out.println("Encoded String: \n" + output);
-		System.out.println("Decoded String: \n" + decodeHuff(output, encodedHuffman) + "\n");
+		System.out.println("Decoded String: \n" + decoded + "\n");
 		System.out.println("The original string requires " + inputBytes + " bytes.");
 		System.out.println("The encoded string requires " + (int) outputBytes + " bytes.");
 		System.out.println("Difference in space required is " + savings + "%.");
@@ -280,28 +743,33 @@ public class HuffmanCoding {
 	}
 
 	/**
-	 * Helper function which, given the root of a Huffman tree, traverses it and obtains the corresponding
-	 * Huffman code of each character. Each character is located at the leaves of the Huffman tree. The code for each
-	 * character is generated by adding a "0" or a "1" at the end of the string depending on whether the left or right
-	 * subtrees are recursively searched, respectively. Upon reaching a leaf node, the accumulated code thus far
-	 * is placed into a map.
+	 * Orders the symbols of a code length map the way canonical codes are assigned: by code length, and by symbol
+	 * when the lengths are equal. The symbols are sorted once and then distributed by length with a counting sort.
 	 *
-	 * @param huffmanRoot The root of the Huffman tree to be traversed.
-	 * @param map Places each character, the current leaf node's value, as the keys and their corresponding
-	 *            Huffman codes as the value.
-	 * @param code The Huffman code of a character, as a string.
-	 * @return The final, updated map with each distinct character from the input text and their Huffman codes.
+	 * @param codeLengths A map containing each unique character and the length of its Huffman code.
+	 * @return The symbols in canonical order.
 	 */
-	public static Map<String, String> traversal_helper(BTNode<Integer,String> huffmanRoot, Map<String, String> map, String code) {
-		if(huffmanRoot == null) return map;
-		if(huffmanRoot.getLeftChild() == null && huffmanRoot.getRightChild() == null){ //leaf nodes are the characters
-			map.put(huffmanRoot.getValue(), code);
+	public static String[] canonicalOrder(Map<String, Integer> codeLengths) {
+		String[] symbols = new String[codeLengths.size()];
+		int maxLength = 0;
+		int n = 0;
+		for(String key : codeLengths.getKeys()){
+			symbols[n++] = key;
+			maxLength = Math.max(maxLength, codeLengths.get(key));
 		}
-
-		/* Code is accumulated by adding a '0' or a '1', upon branching to the left and right subtrees. */
-		traversal_helper(huffmanRoot.getLeftChild(), map, code + "0");
-		traversal_helper(huffmanRoot.getRightChild(), map, code + "1");
-		return map;
+		Arrays.sort(symbols);
+
+		/* Counting sort by length, stable so symbols of the same length stay sorted. */
+		int[] start = new int[maxLength + 2];
+		for(String symbol : symbols)
+			start[codeLengths.get(symbol) + 1]++;
+		for(int i = 1; i < start.length; i++)
+			start[i] += start[i - 1];
+
+		String[] ordered = new String[n];
+		for(String symbol : symbols)
+			ordered[start[codeLengths.get(symbol)]++] = symbol;
+		return ordered;
 	}
 
 	/**
@@ -336,5 +804,50 @@ public class HuffmanCoding {
 		return result;
 	}
 
+	/**
+	 * Auxiliary Method that decodes the packed bits generated by {@code encode_packed}. Unlike {@code decodeHuff}, it
+	 * doesn't search for every prefix of the encoded bits; it uses a {@code HuffmanDecoder} lookup table instead, so
+	 * it runs in linear time and writes directly into a buffer of the final size.
+	 *
+	 * @param output Packed bits generated by {@code encode_packed}.
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes.
+	 * @return The decoded String. This should be the original input string parsed from the input file.
+	 */
+	public static String decode_packed(PackedBits output, Map<String, String> encodingMap) {
+		return new HuffmanDecoder(encodingMap).decode(output);
+	}
+
+	/**
+	 * Auxiliary Method that decodes only the characters in positions {@code [start, end)} of the bits generated by
+	 * {@code encode_indexed}. Decoding starts at the closest checkpoint before {@code start}, so its cost depends on
+	 * the length of the range and the checkpoint interval, not on the length of the whole input.
+	 *
+	 * Building the decoder fills a lookup table with up to {@code 2^HuffmanDecoder.MAX_TABLE_BITS} entries, which costs
+	 * more than decoding a short range, so code that decodes many ranges should build it once and pass it to every call.
+	 *
+	 * @param output Packed bits and checkpoints generated by {@code encode_indexed}.
+	 * @param decoder Decoder for the Huffman codes the bits were encoded with.
+	 * @param start Position of the first character to decode.
+	 * @param end Position after the last character to decode.
+	 * @return The substring {@code [start, end)} of the original input string.
+	 */
+	public static String decode_range(IndexedEncoding output, HuffmanDecoder decoder, int start, int end) {
+		return output.decodeRange(decoder, start, end);
+	}
+
+	/**
+	 * Same as {@code decode_range(IndexedEncoding, HuffmanDecoder, int, int)}, building the decoder from the encoding
+	 * map first. Only meant for decoding a single range.
+	 *
+	 * @param output Packed bits and checkpoints generated by {@code encode_indexed}.
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes.
+	 * @param start Position of the first character to decode.
+	 * @param end Position after the last character to decode.
+	 * @return The substring {@code [start, end)} of the original input string.
+	 */
+	public static String decode_range(IndexedEncoding output, Map<String, String> encodingMap, int start, int end) {
+		return decode_range(output, new HuffmanDecoder(encodingMap), start, end);
+	}
+
 
 }
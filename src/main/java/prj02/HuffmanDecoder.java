@@ -0,0 +1,220 @@
+package prj02;
+
+import java.util.Arrays;
+
+import HashTable.Map;
+
+/**
+ * Table driven Huffman decoder. Instead of searching for every prefix of the encoded bits in the code map, the next
+ * {@code tableBits} bits of the input are used as an index into a lookup table whose entry holds both the decoded
+ * symbol and the length of its code, so most symbols are decoded with a single array access. Codes longer than the
+ * table are decoded by walking a small array based copy of the Huffman tree, one bit at a time.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HuffmanDecoder {
+	/* 2^11 entries fit comfortably in the L1 cache and cover every code of typical text. */
+	public static final int MAX_TABLE_BITS = 11;
+
+	private final String[] symbols;
+	private final char[] symbolChars; //same symbols as chars, null unless every symbol is a single character
+	private final int tableBits;
+	/* Each entry is (symbol index << 8) | code length, or 0 when the code is longer than the table. */
+	private final int[] table;
+	/* Tree of every code: node n has its children at 2n and 2n + 1; a negative child -(s + 1) is the leaf of symbol s. */
+	private int[] tree;
+	private int treeSize;
+	/* Index of the lone symbol when it has the empty code, which takes no bits; -1 otherwise. */
+	private int emptyCodeSymbol = -1;
+
+	/**
+	 * Builds the decoder for the given Huffman codes.
+	 *
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes, as
+	 *                    returned by {@code HuffmanCoding.huffman_code}.
+	 */
+	public HuffmanDecoder(Map<String, String> encodingMap) {
+		this(keys(encodingMap), codes(encodingMap), lengths(encodingMap));
+	}
+
+	/**
+	 * Builds the decoder for codes given as integers. Symbols whose length is 0 are skipped, unless there is only one
+	 * symbol, which then has the empty code.
+	 *
+	 * @param symbols The symbols, in any order.
+	 * @param codes   The code of every symbol, right aligned.
+	 * @param lengths The length of every symbol's code.
+	 */
+	public HuffmanDecoder(String[] symbols, long[] codes, int[] lengths) {
+		int n = symbols.length;
+		if (n == 0)
+			throw new IllegalArgumentException("Can't decode without any Huffman codes.");
+
+		this.symbols = symbols;
+		boolean singleChars = true;
+		int maxLength = 0;
+		for (int i = 0; i < n; i++) {
+			singleChars &= symbols[i].length() == 1;
+			maxLength = Math.max(maxLength, lengths[i]);
+		}
+
+		if (singleChars) {
+			symbolChars = new char[n];
+			for (int i = 0; i < n; i++)
+				symbolChars[i] = symbols[i].charAt(0);
+		}
+		else
+			symbolChars = null;
+
+		/* Only as many table bits as the longest code needs, up to the maximum. */
+		tableBits = Math.min(maxLength, MAX_TABLE_BITS);
+		table = new int[1 << tableBits];
+		tree = new int[2 * Math.max(n, 2)];
+		treeSize = 1; //node 0 is the root
+
+		for (int i = 0; i < n; i++) {
+			int length = lengths[i];
+			if (length == 0 && n > 1)
+				continue;
+			if (length > 0 && length <= tableBits) {
+				/* Every index that starts with this code decodes to this symbol. */
+				int first = (int) codes[i] << (tableBits - length);
+				int last = first + (1 << (tableBits - length));
+				for (int j = first; j < last; j++)
+					table[j] = (i << 8) | length;
+			}
+			addToTree(codes[i], length, i);
+		}
+	}
+
+	/**
+	 * Decodes the given packed bits back into the original string.
+	 *
+	 * @param bits Packed bits generated with the same Huffman codes.
+	 * @return The decoded string.
+	 */
+	public String decode(PackedBits bits) {
+		int n = bits.getSymbolCount();
+		BitReader reader = new BitReader(bits);
+
+		if (symbolChars != null) {
+			char[] result = new char[n];
+			for (int i = 0; i < n; i++)
+				result[i] = symbolChars[nextSymbol(reader)];
+			checkLength(reader, bits);
+			return new String(result);
+		}
+
+		StringBuilder result = new StringBuilder(n);
+		for (int i = 0; i < n; i++)
+			result.append(symbols[nextSymbol(reader)]);
+		checkLength(reader, bits);
+		return result.toString();
+	}
+
+	/**
+	 * Decodes the next symbol of the input.
+	 *
+	 * @param reader Reader positioned at the start of a code.
+	 * @return The index of the decoded symbol.
+	 */
+	public int nextSymbol(BitReader reader) {
+		if (tableBits > 0) {
+			int entry = table[reader.peek(tableBits)];
+			if (entry != 0) {
+				reader.skip(entry & 0xFF);
+				return entry >>> 8;
+			}
+		}
+		return slowSymbol(reader);
+	}
+
+	/**
+	 * @param index Index returned by {@code nextSymbol}.
+	 * @return The symbol at that index.
+	 */
+	public String getSymbol(int index) {
+		return symbols[index];
+	}
+
+	/**
+	 * @param index Index returned by {@code nextSymbol}.
+	 * @return The symbol at that index, when every symbol is a single character.
+	 */
+	public char getSymbolChar(int index) {
+		if (symbolChars == null)
+			throw new IllegalStateException("Symbols are not single characters.");
+		return symbolChars[index];
+	}
+
+	public int getSymbolCount() {
+		return symbols.length;
+	}
+
+	/* Walks the tree one bit at a time, for codes that don't fit in the table. */
+	private int slowSymbol(BitReader reader) {
+		if (emptyCodeSymbol >= 0)
+			return emptyCodeSymbol;
+
+		int node = 0;
+		while (true) {
+			int child = tree[2 * node + reader.readBit()];
+			if (child < 0)
+				return -child - 1;
+			if (child == 0)
+				throw new IllegalArgumentException("Invalid Huffman code at bit " + (reader.getBitPosition() - 1));
+			node = child;
+		}
+	}
+
+	private void addToTree(long code, int length, int symbol) {
+		if (length == 0) {
+			emptyCodeSymbol = symbol;
+			return;
+		}
+		int node = 0;
+		for (int i = length - 1; i > 0; i--) {
+			int slot = 2 * node + (int) ((code >>> i) & 1);
+			if (tree[slot] == 0) {
+				if (2 * treeSize + 2 > tree.length)
+					tree = Arrays.copyOf(tree, 2 * tree.length);
+				tree[slot] = treeSize++;
+			}
+			node = tree[slot];
+		}
+		tree[2 * node + (int) (code & 1)] = -symbol - 1;
+	}
+
+	private static String[] keys(Map<String, String> encodingMap) {
+		String[] keys = new String[encodingMap.size()];
+		int i = 0;
+		for (String key : encodingMap.getKeys())
+			keys[i++] = key;
+		return keys;
+	}
+
+	private static long[] codes(Map<String, String> encodingMap) {
+		String[] keys = keys(encodingMap);
+		long[] codes = new long[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			String code = encodingMap.get(keys[i]);
+			codes[i] = code.isEmpty() ? 0 : Long.parseUnsignedLong(code, 2);
+		}
+		return codes;
+	}
+
+	private static int[] lengths(Map<String, String> encodingMap) {
+		String[] keys = keys(encodingMap);
+		int[] lengths = new int[keys.length];
+		for (int i = 0; i < keys.length; i++)
+			lengths[i] = encodingMap.get(keys[i]).length();
+		return lengths;
+	}
+
+	private void checkLength(BitReader reader, PackedBits bits) {
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw new IllegalArgumentException("Encoded bits ended before " + bits.getSymbolCount() + " symbols were decoded.");
+	}
+}
@@ -0,0 +1,503 @@
+package prj02;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming Huffman compression of whole files. Unlike {@code HuffmanCoding.load_data}, which keeps the first line
+ * of a file in a single string, the file is read in fixed size chunks, twice: the first pass counts the frequency of
+ * every symbol and the second one encodes the chunks and writes the bits as soon as they are complete. Memory use
+ * is therefore the same for a file of a few bytes as for one of several gigabytes.
+ *
+ * By default the symbols are the bytes of the file, coded with a {@code ByteHuffmanCode}, so any file can be
+ * compressed, binary or not, without decoding it. {@code compressMapped} does the same through a memory mapping, with
+ * no copy of the file into the heap. {@code compressText} instead decodes the file as UTF-8 and codes its characters.
+ *
+ * The compressed file starts with a header holding its format (characters or bytes), the amount of encoded symbols
+ * and, for every symbol that appears, the symbol and the length of its canonical code. The packed bits follow right
+ * after it. {@code compressAdaptive} instead codes the bytes in a single pass with {@code AdaptiveHuffman}, and only
+ * writes the magic number and the format before the bits. {@code compressContext} codes every byte with a table
+ * chosen by the byte before it, with {@code ContextHuffmanCode}; its header holds the table of each of the 256
+ * contexts and the code lengths of every table, 4 bits each.
+ *
+ * {@code analyze} and {@code analyzeText} run the first pass alone, and report the exact size of the output without
+ * writing it, as a {@code CompressionStats}.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HuffmanFileCodec {
+	public static final int MAGIC = 0x48554653; //"HUFS"
+	public static final int TEXT_FORMAT = 1;
+	public static final int BYTE_FORMAT = 2;
+	public static final int ADAPTIVE_FORMAT = 3;
+	public static final int CONTEXT_FORMAT = 4;
+	/* Longest character code; every code fits in a single peek of the bit reader. */
+	public static final int MAX_CODE_LENGTH = 24;
+	public static final int CHUNK_SIZE = 1 << 16;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 2) {
+			switch (args[0]) {
+				case "verify":
+					try (HufFileReader reader = new HufFileReader(args[1])) {
+						System.out.println(reader.getBlockCount() + " blocks, damaged: " + reader.corruptBlocks());
+					}
+					return;
+				case "stats":
+				case "stats-text":
+					File input = new File(args[1]);
+					File[] files = input.isDirectory() ? input.listFiles(File::isFile) : new File[] {input};
+					if (files == null)
+						throw new IOException("Can't list the files in " + input.getAbsolutePath());
+					Arrays.sort(files);
+					for (File file : files) {
+						CompressionStats stats = args[0].equals("stats") ? analyze(file.getPath()) : analyzeText(file.getPath());
+						System.out.println(file + ": " + stats);
+					}
+					return;
+			}
+		}
+		if (args.length == 3) {
+			switch (args[0]) {
+				case "compress":
+					System.out.println("Compressed to " + compress(args[1], args[2]) + " bytes.");
+					return;
+				case "compress-text":
+					System.out.println("Compressed to " + compressText(args[1], args[2]) + " bytes.");
+					return;
+				case "compress-mapped":
+					System.out.println("Compressed to " + compressMapped(args[1], args[2]) + " bytes.");
+					return;
+				case "compress-adaptive":
+					System.out.println("Compressed to " + compressAdaptive(args[1], args[2]) + " bytes.");
+					return;
+				case "compress-context":
+					System.out.println("Compressed to " + compressContext(args[1], args[2]) + " bytes.");
+					return;
+				case "pack":
+					System.out.println("Compressed to " + new HufFileWriter().write(args[1], args[2]) + " bytes.");
+					return;
+				case "pack-streams":
+					System.out.println("Compressed to " + new HufFileWriter(BlockEncoder.DEFAULT_BLOCK_SIZE, false, true)
+							.write(args[1], args[2]) + " bytes.");
+					return;
+				case "unpack":
+					try (HufFileReader reader = new HufFileReader(args[1])) {
+						System.out.println("Decompressed " + reader.decompress(args[2]) + " bytes.");
+					}
+					return;
+				case "decompress":
+					System.out.println("Decompressed " + decompress(args[1], args[2]) + " symbols.");
+					return;
+			}
+		}
+		System.out.println("Usage: HuffmanFileCodec compress|compress-mapped|compress-text|compress-adaptive|compress-context|decompress|pack|pack-streams|unpack <input file> <output file>");
+		System.out.println("       HuffmanFileCodec verify <.huf file>");
+		System.out.println("       HuffmanFileCodec stats|stats-text <input file or directory>");
+	}
+
+	/**
+	 * Compresses a file of any size, treating every byte as a symbol.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the compressed file to create.
+	 * @return The size of the compressed file, in bytes.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public static long compress(String inputFile, String outputFile) throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+
+		/* First pass: frequency of every byte value. */
+		long[] frequencies = new long[256];
+		long symbolCount = countBytes(inputFile, frequencies);
+		ByteHuffmanCode code = ByteHuffmanCode.fromFrequencies(frequencies);
+
+		/* Second pass: encode chunk by chunk, handing every complete byte to the output right away. */
+		try (InputStream in = new FileInputStream(inputFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			writeHeader(out, BYTE_FORMAT, symbolCount, code.getLengths());
+			long headerBytes = out.size();
+			BitWriter writer = new BitWriter(CHUNK_SIZE);
+			int read;
+			while ((read = in.read(chunk)) > 0) {
+				code.encode(chunk, 0, read, writer);
+				writer.flushTo(out);
+			}
+			return headerBytes + (writer.finishTo(out) + 7) / 8;
+		}
+	}
+
+	/**
+	 * Compresses a UTF-8 text file of any size, treating every character as a symbol.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the compressed file to create.
+	 * @return The size of the compressed file, in bytes.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public static long compressText(String inputFile, String outputFile) throws IOException {
+		char[] chunk = new char[CHUNK_SIZE];
+
+		/* First pass: frequency of every character. A char can only take 2^16 values, so a flat array will do. */
+		long[] frequencies = new long[Character.MAX_VALUE + 1];
+		long symbolCount = countChars(inputFile, frequencies);
+
+		int[] lengths = CanonicalCode.lengths(frequencies, MAX_CODE_LENGTH);
+		long[] codes = CanonicalCode.codes(lengths);
+
+		/* Second pass: encode chunk by chunk, handing every complete byte to the output right away. */
+		try (Reader in = openReader(inputFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			writeHeader(out, TEXT_FORMAT, symbolCount, lengths);
+			long headerBytes = out.size();
+			BitWriter writer = new BitWriter(CHUNK_SIZE);
+			int read;
+			while ((read = in.read(chunk)) > 0) {
+				for (int i = 0; i < read; i++)
+					writer.write(codes[chunk[i]], lengths[chunk[i]]);
+				writer.flushTo(out);
+			}
+			return headerBytes + (writer.finishTo(out) + 7) / 8;
+		}
+	}
+
+	/**
+	 * Compresses a file of any size through a memory mapping, treating every byte as a symbol. Both passes run
+	 * directly over the mapped segments of the file.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the compressed file to create.
+	 * @return The size of the compressed file, in bytes.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public static long compressMapped(String inputFile, String outputFile) throws IOException {
+		try (MappedInput input = new MappedInput(inputFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			ByteHuffmanCode code = ByteHuffmanCode.fromFrequencies(input.histogram());
+
+			writeHeader(out, BYTE_FORMAT, input.size(), code.getLengths());
+			long headerBytes = out.size();
+			BitWriter writer = new BitWriter(CHUNK_SIZE);
+			for (int s = 0; s < input.segmentCount(); s++) {
+				MappedByteBuffer buffer = input.segment(s);
+				int limit = buffer.limit();
+				for (int start = 0; start < limit; start += CHUNK_SIZE) {
+					int end = Math.min(limit, start + CHUNK_SIZE);
+					for (int i = start; i < end; i++) {
+						int b = buffer.get(i) & 0xFF;
+						writer.write(code.getCode(b), code.getLength(b));
+					}
+					writer.flushTo(out);
+				}
+			}
+			return headerBytes + (writer.finishTo(out) + 7) / 8;
+		}
+	}
+
+	/**
+	 * Compresses a file of any size in a single pass, with a code that adapts to the bytes as they are read. No
+	 * frequency table is computed or stored, so the same format can be produced from a pipe or a socket.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the compressed file to create.
+	 * @return The size of the compressed file, in bytes.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public static long compressAdaptive(String inputFile, String outputFile) throws IOException {
+		try (InputStream in = new FileInputStream(inputFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			out.writeInt(MAGIC);
+			out.writeByte(ADAPTIVE_FORMAT);
+			AdaptiveHuffman.compress(in, out);
+			return out.size();
+		}
+	}
+
+	/**
+	 * Compresses a file of any size, treating every byte as a symbol coded with a table chosen by the byte before it.
+	 * The first pass counts every pair of consecutive bytes.
+	 *
+	 * @param inputFile  Path of the file to compress.
+	 * @param outputFile Path of the compressed file to create.
+	 * @return The size of the compressed file, in bytes, tables included.
+	 * @throws IOException If either file can't be read or written.
+	 */
+	public static long compressContext(String inputFile, String outputFile) throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+
+		/* First pass: frequency of every byte after every byte. */
+		long[] counts = new long[256 * 256];
+		long symbolCount = 0;
+		try (InputStream in = new FileInputStream(inputFile)) {
+			int read, context = ContextHuffmanCode.INITIAL_CONTEXT;
+			while ((read = in.read(chunk)) > 0) {
+				context = ContextHuffmanCode.count(chunk, 0, read, counts, context);
+				symbolCount += read;
+			}
+		}
+		ContextHuffmanCode code = ContextHuffmanCode.fromCounts(counts);
+
+		/* Second pass: encode chunk by chunk, carrying the context from one chunk to the next. */
+		try (InputStream in = new FileInputStream(inputFile);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)))) {
+			out.writeInt(MAGIC);
+			out.writeByte(CONTEXT_FORMAT);
+			out.writeLong(symbolCount);
+			out.writeShort(code.getTableCount());
+			for (int c = 0; c < 256; c++)
+				out.writeByte(code.getTable(c));
+			for (int t = 0; t < code.getTableCount(); t++)
+				out.write(HufFormat.packLengths(code.getLengths(t)));
+			long headerBytes = out.size();
+
+			BitWriter writer = new BitWriter(CHUNK_SIZE);
+			int read, context = ContextHuffmanCode.INITIAL_CONTEXT;
+			while ((read = in.read(chunk)) > 0) {
+				context = code.encode(chunk, 0, read, context, writer);
+				writer.flushTo(out);
+			}
+			return headerBytes + (writer.finishTo(out) + 7) / 8;
+		}
+	}
+
+	/**
+	 * Decompresses a file created by {@code compress}, {@code compressMapped}, {@code compressAdaptive} or
+	 * {@code compressContext}, writing the symbols out in chunks as
+	 * they are decoded. Character files are written back as UTF-8 text, byte files byte for byte.
+	 *
+	 * @param inputFile  Path of the compressed file.
+	 * @param outputFile Path of the file to create.
+	 * @return The amount of symbols decoded.
+	 * @throws IOException If either file can't be read or written, or the compressed file is not valid.
+	 */
+	public static long decompress(String inputFile, String outputFile) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(inputFile)));
+			 BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a compressed file: " + inputFile);
+			int format = in.readUnsignedByte();
+			if (format == ADAPTIVE_FORMAT)
+				return AdaptiveHuffman.decompress(in, out);
+			if (format == CONTEXT_FORMAT)
+				return decompressContext(in, out, inputFile);
+			if (format != TEXT_FORMAT && format != BYTE_FORMAT)
+				throw new IOException("Unsupported format " + format + " in " + inputFile);
+			long symbolCount = in.readLong();
+			int distinct = in.readInt();
+			int maxDistinct = format == TEXT_FORMAT ? Character.MAX_VALUE + 1 : 256;
+			if (distinct < 0 || distinct > maxDistinct || (distinct == 0 && symbolCount > 0))
+				throw new IOException("Corrupted header in " + inputFile);
+			if (symbolCount == 0)
+				return 0;
+
+			try {
+				if (format == TEXT_FORMAT) {
+					String[] symbols = new String[distinct];
+					int[] lengths = new int[distinct];
+					for (int i = 0; i < distinct; i++) {
+						symbols[i] = String.valueOf(in.readChar());
+						lengths[i] = in.readUnsignedByte();
+						if (lengths[i] < 1 || lengths[i] > MAX_CODE_LENGTH)
+							throw new IOException("Corrupted header in " + inputFile + ": invalid code length " + lengths[i]);
+					}
+					/* The header lists the symbols in canonical order, so their codes can be assigned by index. */
+					HuffmanDecoder decoder = new HuffmanDecoder(symbols, CanonicalCode.codes(lengths), lengths);
+					BitReader reader = new BitReader(in);
+					decodeText(decoder, reader, symbolCount, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+				}
+				else {
+					int[] lengths = new int[256];
+					for (int i = 0; i < distinct; i++)
+						lengths[in.readUnsignedByte()] = in.readUnsignedByte();
+					ByteHuffmanCode code = new ByteHuffmanCode(lengths);
+					BitReader reader = new BitReader(in);
+					decodeBytes(code, reader, symbolCount, out);
+				}
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Corrupted data in " + inputFile, e);
+			}
+			return symbolCount;
+		}
+	}
+
+	/* Reads the tables of a file created by compressContext, right after its format, and decodes its bytes. */
+	private static long decompressContext(DataInputStream in, OutputStream out, String inputFile) throws IOException {
+		long symbolCount = in.readLong();
+		int tableCount = in.readUnsignedShort();
+		if (symbolCount < 0 || tableCount < 1 || tableCount > 256)
+			throw new IOException("Corrupted header in " + inputFile);
+		int[] tableOf = new int[256];
+		for (int c = 0; c < 256; c++)
+			tableOf[c] = in.readUnsignedByte();
+		int[][] tables = new int[tableCount][];
+		byte[] packed = new byte[HufFormat.TABLE_BYTES];
+		for (int t = 0; t < tableCount; t++) {
+			in.readFully(packed);
+			tables[t] = HufFormat.unpackLengths(packed, 0);
+		}
+
+		try {
+			ContextHuffmanCode code = new ContextHuffmanCode(tableOf, tables);
+			BitReader reader = new BitReader(in);
+			byte[] chunk = new byte[CHUNK_SIZE];
+			int context = ContextHuffmanCode.INITIAL_CONTEXT;
+			for (long decoded = 0; decoded < symbolCount; ) {
+				int n = (int) Math.min(CHUNK_SIZE, symbolCount - decoded);
+				context = code.decode(reader, chunk, 0, n, context);
+				checkNotTruncated(reader, symbolCount);
+				out.write(chunk, 0, n);
+				decoded += n;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Corrupted data in " + inputFile, e);
+		}
+		return symbolCount;
+	}
+
+	/**
+	 * Analyzes what {@code compress} would write for a file, without encoding it or writing anything: only the first
+	 * pass is run, and the size of the bits is computed from the frequencies and the code lengths. The total size of
+	 * the analysis is exactly the size {@code compress} returns.
+	 *
+	 * @param inputFile Path of the file to analyze.
+	 * @return The sizes, entropy and redundancy of the byte code of the file.
+	 * @throws IOException If the file can't be read.
+	 */
+	public static CompressionStats analyze(String inputFile) throws IOException {
+		long[] frequencies = new long[256];
+		long symbolCount = countBytes(inputFile, frequencies);
+		int[] lengths = ByteHuffmanCode.fromFrequencies(frequencies).getLengths();
+		return new CompressionStats(frequencies, lengths, headerBytes(CanonicalCode.order(lengths).length, 2), symbolCount);
+	}
+
+	/**
+	 * Same as {@code analyze}, for what {@code compressText} would write.
+	 *
+	 * @param inputFile Path of the UTF-8 text file to analyze.
+	 * @return The sizes, entropy and redundancy of the character code of the file.
+	 * @throws IOException If the file can't be read.
+	 */
+	public static CompressionStats analyzeText(String inputFile) throws IOException {
+		long[] frequencies = new long[Character.MAX_VALUE + 1];
+		countChars(inputFile, frequencies);
+		int[] lengths = CanonicalCode.lengths(frequencies, MAX_CODE_LENGTH);
+		return new CompressionStats(frequencies, lengths, headerBytes(CanonicalCode.order(lengths).length, 3),
+				new File(inputFile).length());
+	}
+
+	/**
+	 * @param symbols        The amount of distinct symbols in the header.
+	 * @param bytesPerSymbol The size of a symbol and its code length: 2 for bytes, 3 for characters.
+	 * @return The size of the header written by {@code compress} and {@code compressText}.
+	 */
+	static long headerBytes(int symbols, int bytesPerSymbol) {
+		return 4 + 1 + 8 + 4 + (long) symbols * bytesPerSymbol;
+	}
+
+	/* Adds the frequency of every byte value of the file to the given array, and returns the amount of bytes. */
+	private static long countBytes(String inputFile, long[] frequencies) throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+		long symbolCount = 0;
+		try (InputStream in = new FileInputStream(inputFile)) {
+			int read;
+			while ((read = in.read(chunk)) > 0) {
+				for (int i = 0; i < read; i++)
+					frequencies[chunk[i] & 0xFF]++;
+				symbolCount += read;
+			}
+		}
+		return symbolCount;
+	}
+
+	/* Adds the frequency of every character of the UTF-8 file to the given array, and returns the amount of characters. */
+	private static long countChars(String inputFile, long[] frequencies) throws IOException {
+		char[] chunk = new char[CHUNK_SIZE];
+		long symbolCount = 0;
+		try (Reader in = openReader(inputFile)) {
+			int read;
+			while ((read = in.read(chunk)) > 0) {
+				for (int i = 0; i < read; i++)
+					frequencies[chunk[i]]++;
+				symbolCount += read;
+			}
+		}
+		return symbolCount;
+	}
+
+	/* Writes the header: the format, the amount of symbols, and every symbol that appears with its code length. */
+	private static void writeHeader(DataOutputStream out, int format, long symbolCount, int[] lengths) throws IOException {
+		int[] order = CanonicalCode.order(lengths);
+		out.writeInt(MAGIC);
+		out.writeByte(format);
+		out.writeLong(symbolCount);
+		out.writeInt(order.length);
+		for (int symbol : order) {
+			if (format == TEXT_FORMAT)
+				out.writeChar(symbol);
+			else
+				out.writeByte(symbol);
+			out.writeByte(lengths[symbol]);
+		}
+	}
+
+	private static void decodeText(HuffmanDecoder decoder, BitReader reader, long symbolCount, Writer out) throws IOException {
+		char[] chunk = new char[CHUNK_SIZE];
+		long decoded = 0;
+		while (decoded < symbolCount) {
+			int n = (int) Math.min(CHUNK_SIZE, symbolCount - decoded);
+			for (int i = 0; i < n; i++)
+				chunk[i] = decoder.getSymbolChar(decoder.nextSymbol(reader));
+			checkNotTruncated(reader, symbolCount);
+			out.write(chunk, 0, n);
+			decoded += n;
+		}
+		out.flush();
+	}
+
+	private static void decodeBytes(ByteHuffmanCode code, BitReader reader, long symbolCount, OutputStream out) throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+		long decoded = 0;
+		while (decoded < symbolCount) {
+			int n = (int) Math.min(CHUNK_SIZE, symbolCount - decoded);
+			code.decode(reader, chunk, 0, n);
+			checkNotTruncated(reader, symbolCount);
+			out.write(chunk, 0, n);
+			decoded += n;
+		}
+	}
+
+	/*
+	 * The reader pads a stream that ended early with zeros, which decode to valid symbols; only the amount of bits read
+	 * past its end tells a cut file from a complete one. Thrown as the in-memory decoders do, and reported as corrupted.
+	 */
+	private static void checkNotTruncated(BitReader reader, long symbolCount) {
+		if (reader.getBitsPastEnd() > 0)
+			throw new IllegalArgumentException("Encoded bits ended before " + symbolCount + " symbols were decoded.");
+	}
+
+	private static Reader openReader(String file) throws IOException {
+		return new InputStreamReader(new BufferedInputStream(new FileInputStream(file), CHUNK_SIZE), StandardCharsets.UTF_8);
+	}
+}
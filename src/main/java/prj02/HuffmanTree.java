@@ -0,0 +1,215 @@
+package prj02;
+
+import java.util.Arrays;
+
+import HashTable.Map;
+
+/**
+ * Huffman tree stored as parallel arrays indexed by node id, instead of {@code BTNode} objects. The leaves are nodes
+ * {@code 0} to {@code n - 1}, one per symbol in ascending order of the symbols, and the internal nodes are numbered
+ * in the order they are created, so a parent always has a larger id than its children and the root is the last node.
+ * Building the tree takes a fixed handful of arrays, whatever the size of the alphabet.
+ *
+ * Ties are broken the same way as {@code huffman_tree} does, without concatenating the symbols: an internal node's
+ * {@code BTNode} value starts with the symbol of its leftmost leaf, and the values of two different nodes never share
+ * a symbol, so comparing the values of two nodes with the same frequency comes down to comparing their leftmost
+ * leaves. As long as no symbol is a prefix of another, which always holds for single characters, the result is the
+ * exact same tree, and the exact same codes.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class HuffmanTree {
+	public static final int NONE = -1;
+
+	private final String[] symbols;
+	private final long[] weight;
+	private final int[] left, right, parent;
+	/* Id of the leftmost leaf below every node, its tie-breaker. */
+	private final int[] first;
+
+	/**
+	 * Builds the tree for the given symbols and weights.
+	 *
+	 * @param symbols The symbols, in ascending order, without repetitions.
+	 * @param weights The weight of every symbol, at least 1.
+	 */
+	public HuffmanTree(String[] symbols, long[] weights) {
+		if (symbols.length == 0 || symbols.length != weights.length)
+			throw new IllegalArgumentException("There must be a weight for every symbol, and at least one symbol.");
+		for (int i = 1; i < symbols.length; i++)
+			if (symbols[i - 1].compareTo(symbols[i]) >= 0)
+				throw new IllegalArgumentException("Symbols must be in ascending order, without repetitions.");
+
+		int n = symbols.length;
+		int nodes = 2 * n - 1;
+		this.symbols = symbols;
+		weight = Arrays.copyOf(weights, nodes);
+		left = new int[nodes];
+		right = new int[nodes];
+		parent = new int[nodes];
+		first = new int[nodes];
+		Arrays.fill(left, 0, n, NONE);
+		Arrays.fill(right, 0, n, NONE);
+		parent[nodes - 1] = NONE;
+
+		/* Binary min-heap of node ids, ordered by weight and then by leftmost leaf. */
+		int[] heap = new int[n];
+		for (int i = 0; i < n; i++) {
+			first[i] = i;
+			heap[i] = i;
+		}
+		for (int i = n / 2 - 1; i >= 0; i--)
+			siftDown(heap, i, n);
+
+		int size = n;
+		for (int node = n; node < nodes; node++) {
+			int a = heap[0];
+			heap[0] = heap[--size];
+			siftDown(heap, 0, size);
+			int b = heap[0];
+
+			weight[node] = weight[a] + weight[b];
+			left[node] = a;
+			right[node] = b;
+			first[node] = first[a];
+			parent[a] = parent[b] = node;
+
+			/* The new node replaces the second one at the top of the heap. */
+			heap[0] = node;
+			siftDown(heap, 0, size);
+		}
+	}
+
+	/**
+	 * Builds the tree for a frequency distribution map, as {@code huffman_tree} does.
+	 *
+	 * @param fD A frequency distribution map from the input text.
+	 * @return The tree.
+	 */
+	public static HuffmanTree build(Map<String, Integer> fD) {
+		String[] symbols = new String[fD.size()];
+		int i = 0;
+		for (String key : fD.getKeys())
+			symbols[i++] = key;
+		Arrays.sort(symbols);
+
+		long[] weights = new long[symbols.length];
+		for (i = 0; i < symbols.length; i++)
+			weights[i] = fD.get(symbols[i]);
+		return new HuffmanTree(symbols, weights);
+	}
+
+	public int getRoot() {
+		return weight.length - 1;
+	}
+
+	public int getNodeCount() {
+		return weight.length;
+	}
+
+	public int getSymbolCount() {
+		return symbols.length;
+	}
+
+	public boolean isLeaf(int node) {
+		return node < symbols.length;
+	}
+
+	/**
+	 * @param leaf Id of a leaf, between 0 and {@code getSymbolCount() - 1}.
+	 * @return The symbol of the leaf.
+	 */
+	public String getSymbol(int leaf) {
+		return symbols[leaf];
+	}
+
+	public long getWeight(int node) {
+		return weight[node];
+	}
+
+	/**
+	 * @return Id of the left child, or {@code NONE} for a leaf.
+	 */
+	public int getLeft(int node) {
+		return left[node];
+	}
+
+	/**
+	 * @return Id of the right child, or {@code NONE} for a leaf.
+	 */
+	public int getRight(int node) {
+		return right[node];
+	}
+
+	/**
+	 * @return Id of the parent, or {@code NONE} for the root.
+	 */
+	public int getParent(int node) {
+		return parent[node];
+	}
+
+	/**
+	 * Computes the depth of every leaf, which is the length of its code. Since parents have larger ids than their
+	 * children, a single pass from the root down to node 0 finds every depth, without recursion.
+	 *
+	 * @return The code length of every symbol, indexed by leaf id.
+	 */
+	public int[] codeLengths() {
+		int[] depth = new int[weight.length];
+		for (int node = getRoot() - 1; node >= 0; node--)
+			depth[node] = depth[parent[node]] + 1;
+		return Arrays.copyOf(depth, symbols.length);
+	}
+
+	/**
+	 * Computes the code of every symbol: 0 for every left child and 1 for every right child on the path from the root,
+	 * the same codes {@code huffman_code} assigns. As in {@code codeLengths}, a single pass from the root down builds
+	 * every code from its parent's, one bit at a time, into a {@code long} per node.
+	 *
+	 * @return The code and length of every symbol, indexed by leaf id.
+	 * @throws IllegalArgumentException If a leaf is deeper than {@code CodeTable.MAX_LENGTH}.
+	 */
+	public CodeTable codeTable() {
+		long[] code = new long[weight.length];
+		byte[] depth = new byte[weight.length];
+		for (int node = getRoot() - 1; node >= 0; node--) {
+			int up = parent[node];
+			if (depth[up] == CodeTable.MAX_LENGTH)
+				throw new IllegalArgumentException("Huffman tree is deeper than " + CodeTable.MAX_LENGTH + " levels.");
+			code[node] = (code[up] << 1) | (left[up] == node ? 0 : 1);
+			depth[node] = (byte) (depth[up] + 1);
+		}
+		return new CodeTable(symbols, Arrays.copyOf(code, symbols.length), Arrays.copyOf(depth, symbols.length));
+	}
+
+	/**
+	 * Same as {@code codeTable}, with the codes written as strings of '0' and '1' characters.
+	 *
+	 * @return A map containing each symbol and its Huffman code.
+	 */
+	public Map<String, String> codes() {
+		return codeTable().toMap();
+	}
+
+	/* Whether node a goes before node b: the lower weight, or the leftmost leaf with the smaller symbol. */
+	private boolean less(int a, int b) {
+		return weight[a] < weight[b] || (weight[a] == weight[b] && first[a] < first[b]);
+	}
+
+	private void siftDown(int[] heap, int index, int size) {
+		int node = heap[index];
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && less(heap[child + 1], heap[child]))
+				child++;
+			if (!less(heap[child], node))
+				break;
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = node;
+	}
+}
@@ -0,0 +1,92 @@
+package prj02;
+
+/**
+ * Packed bits together with a checkpoint index: the bit offset where the code of every {@code interval}-th symbol
+ * starts, recorded while encoding. Any slice of the input can then be decoded by jumping to the last checkpoint at or
+ * before its start, so at most {@code interval - 1} symbols are decoded and thrown away, however long the input is.
+ *
+ * The checkpoints only live in memory: none of the file formats of {@code HuffmanFileCodec} or {@code HufFileWriter}
+ * stores them, so a range of a compressed file can only be reached by the block, as {@code HufFileReader.readRange}
+ * does, decoding from the start of the block that holds it.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class IndexedEncoding {
+	/* One 8 byte checkpoint every 1024 symbols costs less than 0.1% of the input. */
+	public static final int DEFAULT_INTERVAL = 1024;
+
+	private final PackedBits bits;
+	private final long[] checkpoints;
+	private final int interval;
+
+	/**
+	 * @param bits        The packed codes.
+	 * @param checkpoints The bit offset of the code of symbols {@code 0, interval, 2 * interval, ...}.
+	 * @param interval    The amount of symbols between checkpoints.
+	 */
+	public IndexedEncoding(PackedBits bits, long[] checkpoints, int interval) {
+		if (interval < 1)
+			throw new IllegalArgumentException("Checkpoint interval must be at least 1.");
+		if (checkpoints.length != (bits.getSymbolCount() + interval - 1) / interval)
+			throw new IllegalArgumentException("Checkpoint index doesn't match " + bits.getSymbolCount() + " symbols");
+		this.bits = bits;
+		this.checkpoints = checkpoints;
+		this.interval = interval;
+	}
+
+	public PackedBits getBits() {
+		return bits;
+	}
+
+	public int getInterval() {
+		return interval;
+	}
+
+	public int getCheckpointCount() {
+		return checkpoints.length;
+	}
+
+	/**
+	 * @param checkpoint Index of the checkpoint.
+	 * @return The bit offset of the code of symbol {@code checkpoint * interval}.
+	 */
+	public long getCheckpoint(int checkpoint) {
+		return checkpoints[checkpoint];
+	}
+
+	/**
+	 * Decodes the symbols in positions {@code [start, end)} only.
+	 *
+	 * @param decoder Decoder for the codes the bits were encoded with.
+	 * @param start   Position of the first symbol to decode.
+	 * @param end     Position after the last symbol to decode.
+	 * @return The decoded symbols.
+	 * @throws IndexOutOfBoundsException If the range isn't inside the encoded symbols.
+	 */
+	public String decodeRange(HuffmanDecoder decoder, int start, int end) {
+		if (start < 0 || end > bits.getSymbolCount() || start > end)
+			throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of " + bits.getSymbolCount() + " symbols");
+		if (start == end)
+			return "";
+
+		BitReader reader = reader(checkpoints[start / interval]);
+		for (int i = start / interval * interval; i < start; i++)
+			decoder.nextSymbol(reader);
+
+		StringBuilder result = new StringBuilder(end - start);
+		for (int i = start; i < end; i++)
+			result.append(decoder.getSymbol(decoder.nextSymbol(reader)));
+		return result.toString();
+	}
+
+	/* Reader positioned at the given bit offset. */
+	private BitReader reader(long bitOffset) {
+		int start = (int) (bitOffset >>> 3);
+		BitReader reader = new BitReader(bits.getBytes(), start, bits.getByteLength() - start);
+		reader.peek(8); //skip only consumes bits already in the buffer
+		reader.skip((int) (bitOffset & 7));
+		return reader;
+	}
+}
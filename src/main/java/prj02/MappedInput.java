@@ -0,0 +1,87 @@
+package prj02;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read only memory mapping of an input file. The bytes of the file are read straight from the operating system's
+ * page cache, with no copy into the heap and no decoding into characters. A single mapping can't be larger than
+ * 2 GB, so bigger files are mapped in consecutive segments of at most {@code SEGMENT_SIZE} bytes.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class MappedInput implements Closeable {
+	public static final long SEGMENT_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final long size;
+	private final long segmentSize;
+
+	public MappedInput(String inputFile) throws IOException {
+		this(inputFile, SEGMENT_SIZE);
+	}
+
+	/**
+	 * @param inputFile   Path of the file to map.
+	 * @param segmentSize Largest amount of bytes mapped at once, at most {@code Integer.MAX_VALUE}.
+	 */
+	public MappedInput(String inputFile, long segmentSize) throws IOException {
+		if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Segment size must be between 1 and " + Integer.MAX_VALUE);
+		this.channel = FileChannel.open(Paths.get(inputFile), StandardOpenOption.READ);
+		this.size = channel.size();
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * @return The size of the file, in bytes.
+	 */
+	public long size() {
+		return size;
+	}
+
+	public int segmentCount() {
+		return (int) ((size + segmentSize - 1) / segmentSize);
+	}
+
+	/**
+	 * Maps one segment of the file. Segments are mapped on demand and released by the garbage collector, so only
+	 * the segments in use take up address space.
+	 *
+	 * @param index Index of the segment, from 0 to {@code segmentCount() - 1}.
+	 * @return The bytes of the segment, positioned at its start.
+	 */
+	public MappedByteBuffer segment(int index) throws IOException {
+		if (index < 0 || index >= segmentCount())
+			throw new IndexOutOfBoundsException("Can't map out of bounds segment: " + index);
+		long start = index * segmentSize;
+		return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start));
+	}
+
+	/**
+	 * Counts the amount of times each byte value appears in the file, one segment at a time.
+	 *
+	 * @return The frequency of every byte value, indexed by the unsigned value of the byte.
+	 */
+	public long[] histogram() throws IOException {
+		long[] frequencies = new long[256];
+		for (int s = 0; s < segmentCount(); s++) {
+			MappedByteBuffer buffer = segment(s);
+			int limit = buffer.limit();
+			for (int i = 0; i < limit; i++)
+				frequencies[buffer.get(i) & 0xFF]++;
+		}
+		return frequencies;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,112 @@
+package prj02;
+
+import java.util.Arrays;
+
+/**
+ * Huffman code lengths computed in place, with the algorithm by Moffat and Katajainen. Given the weights sorted in
+ * ascending order, three linear passes over the same array replace every weight by the length of its code, with no
+ * tree and no other memory than the array itself.
+ *
+ * The first pass builds the tree the same way as the two queue Huffman algorithm: the leaves are read from the front
+ * of the unused part of the array, the internal nodes are written behind them, each one holding its weight until it
+ * is merged into a parent, and its parent's index from then on. The second pass turns the parent indexes into depths,
+ * from the root down, and the third one turns the depths of the internal nodes into the depths of the leaves.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class MinimumRedundancy {
+
+	/**
+	 * Replaces every weight by the length of its code in an optimal prefix code.
+	 *
+	 * @param a The weights, in ascending order, all positive, with a total that fits in an int. On return, the code
+	 *          length of every symbol, in the same order (so from longest to shortest). A single symbol gets length 0,
+	 *          just like the root of a Huffman tree with only one leaf.
+	 */
+	public static void inPlace(int[] a) {
+		int n = a.length;
+		if (n == 0)
+			return;
+		if (n == 1) {
+			a[0] = 0;
+			return;
+		}
+
+		/* First pass, left to right: pairs the two lightest of the next leaf and the next internal node. */
+		a[0] += a[1];
+		int root = 0, leaf = 2;
+		for (int next = 1; next < n - 1; next++) {
+			if (leaf >= n || a[root] < a[leaf]) {
+				a[next] = a[root];
+				a[root++] = next;
+			}
+			else
+				a[next] = a[leaf++];
+
+			if (leaf >= n || (root < next && a[root] < a[leaf])) {
+				a[next] += a[root];
+				a[root++] = next;
+			}
+			else
+				a[next] += a[leaf++];
+		}
+
+		/* Second pass, right to left: the depth of every internal node, from its parent's. */
+		a[n - 2] = 0;
+		for (int next = n - 3; next >= 0; next--)
+			a[next] = a[a[next]] + 1;
+
+		/* Third pass, right to left: every slot at a depth not used by an internal node is a leaf. */
+		int available = 1, used = 0, depth = 0, next = n - 1;
+		root = n - 2;
+		while (available > 0) {
+			while (root >= 0 && a[root] == depth) {
+				used++;
+				root--;
+			}
+			while (available > used) {
+				a[next--] = depth;
+				available--;
+			}
+			available = 2 * used;
+			depth++;
+			used = 0;
+		}
+	}
+
+	/**
+	 * Computes the code lengths of weights in any order, sorting them first.
+	 *
+	 * @param weights The weight (frequency) of every symbol. Must be positive, with a total that fits in an int.
+	 * @return The code length of every symbol, in the same order as {@code weights}.
+	 */
+	public static int[] codeLengths(int[] weights) {
+		int n = weights.length;
+		long total = 0;
+		for (int weight : weights) {
+			if (weight < 1)
+				throw new IllegalArgumentException("Weights must be positive: " + weight);
+			total += weight;
+		}
+		if (total > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Total weight doesn't fit in an int: " + total);
+
+		/* Weight and index in a single long, so sorting them is a primitive sort; ties are broken by index. */
+		long[] sorted = new long[n];
+		for (int i = 0; i < n; i++)
+			sorted[i] = ((long) weights[i] << 32) | i;
+		Arrays.sort(sorted);
+
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++)
+			a[i] = (int) (sorted[i] >>> 32);
+		inPlace(a);
+
+		int[] lengths = new int[n];
+		for (int i = 0; i < n; i++)
+			lengths[(int) sorted[i]] = a[i];
+		return lengths;
+	}
+}
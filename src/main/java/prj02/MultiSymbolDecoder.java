@@ -0,0 +1,170 @@
+package prj02;
+
+import HashTable.Map;
+
+/**
+ * Table driven Huffman decoder that decodes several symbols per lookup. Where {@code HuffmanDecoder} stores a single
+ * symbol in every entry of its table, the entry for the next {@code TABLE_BITS} bits of the input here holds every
+ * complete code found in them, up to {@code MAX_SYMBOLS}, so that text whose codes are mostly a few bits long is
+ * decoded with a fraction of the table probes.
+ *
+ * Every entry is a {@code long} with the characters of its symbols, 16 bits each, starting from the most significant
+ * bits, and a byte with the amount of symbols and the amount of bits they take. The characters of an entry are always
+ * copied as a whole, and only the position in the output moves by the amount of symbols. Codes that start an entry
+ * and are longer than the table are left to a {@code HuffmanDecoder}, as are the last few symbols of the input, so
+ * that decoding never reads further than the encoded bits.
+ *
+ * Only single character symbols are supported, the ones {@code HuffmanCoding.huffman_code} generates from text.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class MultiSymbolDecoder {
+	/* 2^12 entries of 9 bytes take 36 KB, about the size of an L1 data cache, and hold three 4-bit codes or more. */
+	public static final int TABLE_BITS = 12;
+	/* As many 16-bit characters as fit in a long. */
+	public static final int MAX_SYMBOLS = 4;
+
+	private final HuffmanDecoder single;
+	private final int tableBits;
+	/* Characters of every entry, the first one in the most significant bits. */
+	private final long[] chars;
+	/* (amount of symbols << 4) | amount of bits of every entry, or 0 when the first code is longer than the table. */
+	private final byte[] counts;
+
+	/**
+	 * Builds the decoder for the given Huffman codes.
+	 *
+	 * @param encodingMap A map containing key-value pairs of each character and their respective Huffman codes, as
+	 *                    returned by {@code HuffmanCoding.huffman_code}.
+	 */
+	public MultiSymbolDecoder(Map<String, String> encodingMap) {
+		this(CodeTable.fromMap(encodingMap));
+	}
+
+	/**
+	 * Builds the decoder for the codes of a code table.
+	 *
+	 * @param codeTable The codes of every symbol.
+	 */
+	public MultiSymbolDecoder(CodeTable codeTable) {
+		int n = codeTable.getSymbolCount();
+		String[] symbols = new String[n];
+		long[] codes = new long[n];
+		int[] lengths = new int[n];
+		int maxLength = 0;
+		for (int i = 0; i < n; i++) {
+			symbols[i] = codeTable.getSymbol(i);
+			codes[i] = codeTable.getCode(i);
+			lengths[i] = codeTable.getLength(i);
+			if (symbols[i].length() != 1)
+				throw new IllegalArgumentException("Only single character symbols can be decoded: " + symbols[i]);
+			maxLength = Math.max(maxLength, lengths[i]);
+		}
+		single = new HuffmanDecoder(symbols, codes, lengths);
+
+		/* A single symbol has the empty code, which is left to the single symbol decoder. */
+		tableBits = maxLength == 0 ? 0 : TABLE_BITS;
+		chars = new long[1 << tableBits];
+		counts = new byte[1 << tableBits];
+		if (tableBits == 0)
+			return;
+
+		/* First the symbol of every index, as in HuffmanDecoder: (symbol index << 8) | code length, 0 if too long. */
+		int[] first = new int[1 << tableBits];
+		for (int i = 0; i < n; i++) {
+			if (lengths[i] == 0 || lengths[i] > tableBits)
+				continue;
+			int start = (int) codes[i] << (tableBits - lengths[i]);
+			int end = start + (1 << (tableBits - lengths[i]));
+			for (int j = start; j < end; j++)
+				first[j] = ((i + 1) << 8) | lengths[i];
+		}
+
+		/* Then every entry is followed through as many complete codes as its bits hold. */
+		for (int index = 0; index < first.length; index++) {
+			long packed = 0;
+			int count = 0, used = 0;
+			while (count < MAX_SYMBOLS) {
+				/* The bits not used yet, followed by zeros: only a code that fits in them is complete. */
+				int entry = first[(index << used) & (first.length - 1)];
+				int length = entry & 0xFF;
+				if (entry == 0 || used + length > tableBits)
+					break;
+				packed |= (long) symbols[(entry >>> 8) - 1].charAt(0) << (48 - 16 * count);
+				count++;
+				used += length;
+			}
+			chars[index] = packed;
+			counts[index] = (byte) (count << 4 | used);
+		}
+	}
+
+	/**
+	 * Decodes the given packed bits back into the original string.
+	 *
+	 * @param bits Packed bits generated with the same Huffman codes.
+	 * @return The decoded string.
+	 */
+	public String decode(PackedBits bits) {
+		int n = bits.getSymbolCount();
+		BitReader reader = new BitReader(bits);
+		char[] result = new char[n + MAX_SYMBOLS - 1]; //room for a whole entry at the last position
+
+		int i = 0;
+		if (tableBits > 0) {
+			/* While a whole entry can't decode more symbols than there are left. */
+			while (n - i >= MAX_SYMBOLS) {
+				int index = reader.peek(tableBits);
+				int count = counts[index];
+				if (count == 0) {
+					result[i++] = single.getSymbolChar(single.nextSymbol(reader));
+					continue;
+				}
+				long packed = chars[index];
+				result[i] = (char) (packed >>> 48);
+				result[i + 1] = (char) (packed >>> 32);
+				result[i + 2] = (char) (packed >>> 16);
+				result[i + 3] = (char) packed;
+				reader.skip(count & 0xF);
+				i += count >>> 4;
+			}
+		}
+		while (i < n)
+			result[i++] = single.getSymbolChar(single.nextSymbol(reader));
+
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw new IllegalArgumentException("Encoded bits ended before " + n + " symbols were decoded.");
+		return new String(result, 0, n);
+	}
+
+	/**
+	 * Computes how many symbols a lookup decodes on average for the given input, counting the codes longer than the
+	 * table as one symbol per lookup.
+	 *
+	 * @param bits Packed bits generated with the same Huffman codes.
+	 * @return The amount of symbols per table lookup.
+	 */
+	public double symbolsPerLookup(PackedBits bits) {
+		int n = bits.getSymbolCount();
+		if (n == 0 || tableBits == 0)
+			return 1;
+		BitReader reader = new BitReader(bits);
+		long lookups = 0;
+		int i = 0;
+		while (i < n) {
+			int count = counts[reader.peek(tableBits)];
+			if (count == 0 || count >>> 4 > n - i) {
+				single.nextSymbol(reader);
+				i++;
+			}
+			else {
+				reader.skip(count & 0xF);
+				i += count >>> 4;
+			}
+			lookups++;
+		}
+		return (double) n / lookups;
+	}
+}
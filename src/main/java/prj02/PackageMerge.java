@@ -0,0 +1,105 @@
+package prj02;
+
+import java.util.Arrays;
+
+/**
+ * Length limited Huffman code lengths, computed with the package-merge algorithm by Larmore and Hirschberg.
+ *
+ * The symbols, sorted by weight, are the items of the deepest level. Every level above it is built by pairing the
+ * items of the level below into packages, whose weight is the sum of the pair, and merging those packages with a fresh
+ * copy of the symbols. After {@code maxLength} levels, the {@code 2n - 2} lightest items are chosen; the code length of
+ * a symbol is the number of chosen items, directly or inside a package, that contain it. The result is the optimal
+ * prefix code among those whose codes are at most {@code maxLength} bits long.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class PackageMerge {
+
+	/**
+	 * Computes optimal code lengths no longer than {@code maxLength}.
+	 *
+	 * @param weights   The weight (frequency) of every symbol. Must be positive.
+	 * @param maxLength The longest code length allowed.
+	 * @return The code length of every symbol, in the same order as {@code weights}. A single symbol gets length 0,
+	 *         just like the root of a Huffman tree with only one leaf.
+	 */
+	public static int[] codeLengths(long[] weights, int maxLength) {
+		int n = weights.length;
+		int[] lengths = new int[n];
+		if (n < 2)
+			return lengths;
+		if (maxLength < 1 || (maxLength < 31 && (1 << maxLength) < n))
+			throw new IllegalArgumentException("Can't fit " + n + " symbols in codes of at most " + maxLength + " bits.");
+
+		/* No optimal code is deeper than n - 1, so there is no need for more levels than that. */
+		int levels = Math.min(maxLength, n - 1);
+
+		/* Symbols sorted by weight; ties broken by index so the result is deterministic. */
+		Integer[] boxed = new Integer[n];
+		for (int i = 0; i < n; i++)
+			boxed[i] = i;
+		Arrays.sort(boxed, (a, b) -> weights[a] != weights[b] ? Long.compare(weights[a], weights[b]) : Integer.compare(a, b));
+		int[] order = new int[n];
+		long[] sorted = new long[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = boxed[i];
+			sorted[i] = weights[order[i]];
+		}
+
+		/* For every level, whether each item is a symbol (its rank in sorted order) or a package (-1). */
+		int[][] items = new int[levels][];
+		long[] previous = sorted;
+		items[0] = new int[n];
+		for (int i = 0; i < n; i++)
+			items[0][i] = i;
+
+		for (int level = 1; level < levels; level++) {
+			int packages = previous.length / 2;
+			long[] merged = new long[n + packages];
+			int[] kinds = new int[n + packages];
+			int s = 0, p = 0;
+			for (int k = 0; k < merged.length; k++) {
+				long packageWeight = p < packages ? previous[2 * p] + previous[2 * p + 1] : Long.MAX_VALUE;
+				if (s < n && sorted[s] <= packageWeight) { //symbols go first when the weights are equal
+					merged[k] = sorted[s];
+					kinds[k] = s++;
+				}
+				else {
+					merged[k] = packageWeight;
+					kinds[k] = -1;
+					p++;
+				}
+			}
+			items[level] = kinds;
+			previous = merged;
+		}
+
+		/* Walk back down the levels, expanding the chosen packages into the items they were made of. */
+		int chosen = 2 * n - 2;
+		for (int level = levels - 1; level >= 0; level--) {
+			int packages = 0;
+			for (int k = 0; k < chosen; k++) {
+				if (items[level][k] >= 0)
+					lengths[order[items[level][k]]]++;
+				else
+					packages++;
+			}
+			chosen = 2 * packages;
+		}
+		return lengths;
+	}
+
+	/**
+	 * @param weights The weight (frequency) of every symbol.
+	 * @param lengths The code length of every symbol.
+	 * @return The size in bits of the encoded input, the sum of every weight times its code length.
+	 */
+	public static long encodedBits(long[] weights, int[] lengths) {
+		long bits = 0;
+		for (int i = 0; i < weights.length; i++)
+			bits += weights[i] * lengths[i];
+		return bits;
+	}
+}
@@ -0,0 +1,76 @@
+package prj02;
+
+/**
+ * The packed form of a Huffman encoded string. Instead of storing every bit of the encoded result as a '0' or '1'
+ * character, the bits are stored eight to a byte, most significant bit first. Since the last byte may not be completely
+ * filled, the exact amount of bits is kept alongside the bytes, together with the amount of symbols that were encoded.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class PackedBits {
+	private final byte[] bytes;
+	private final long bitLength;
+	private final int symbolCount;
+
+	public PackedBits(byte[] bytes, long bitLength, int symbolCount) {
+		if (bytes == null)
+			throw new IllegalArgumentException("Bytes cannot be null.");
+		if (bitLength < 0 || (bitLength + 7) / 8 > bytes.length)
+			throw new IllegalArgumentException("Bit length doesn't fit in the given bytes: " + bitLength);
+		if (symbolCount < 0)
+			throw new IllegalArgumentException("Symbol count cannot be negative: " + symbolCount);
+
+		this.bytes = bytes;
+		this.bitLength = bitLength;
+		this.symbolCount = symbolCount;
+	}
+
+	/**
+	 * @return The packed bits. Only the first {@code getByteLength()} bytes are meaningful.
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	public long getBitLength() {
+		return bitLength;
+	}
+
+	/**
+	 * @return The amount of bytes needed to hold every encoded bit, which is the real size of the encoded result.
+	 */
+	public int getByteLength() {
+		return (int) ((bitLength + 7) / 8);
+	}
+
+	public int getSymbolCount() {
+		return symbolCount;
+	}
+
+	/**
+	 * Returns the bit at the specified position, counting from the most significant bit of the first byte.
+	 *
+	 * @param index Position of the bit to retrieve.
+	 * @return 0 or 1.
+	 */
+	public int getBit(long index) {
+		if (index < 0 || index >= bitLength)
+			throw new IndexOutOfBoundsException("Can't get out of bounds bit: " + index);
+		return (bytes[(int) (index >>> 3)] >>> (7 - (int) (index & 7))) & 1;
+	}
+
+	/**
+	 * Expands the packed bits back into a string of '0' and '1' characters, the same representation returned by
+	 * {@code HuffmanCoding.encode}. Used for display purposes only.
+	 *
+	 * @return The encoded bits as a binary string.
+	 */
+	public String toBitString() {
+		StringBuilder sb = new StringBuilder((int) bitLength);
+		for (long i = 0; i < bitLength; i++)
+			sb.append(getBit(i) == 0 ? '0' : '1');
+		return sb.toString();
+	}
+}
@@ -0,0 +1,120 @@
+package prj02;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Frequency counting split across the cores of the machine with a {@code ForkJoinPool}. The input is cut into a few
+ * pieces per worker of the pool, and every worker takes the next piece nobody has claimed yet until none is left, so a
+ * worker that falls behind simply counts fewer pieces. Each worker counts all of its pieces into a single flat
+ * histogram of its own, so the workers never share anything while counting and only one histogram per worker has to
+ * be allocated and added up at the end, however large the input is.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class ParallelFrequency {
+	/* Below 1M symbols, counting takes about as long as waking the workers up and adding their histograms. */
+	public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+	/* Pieces per worker: enough for the workers to balance each other out, few enough to claim them cheaply. */
+	private static final int PIECES_PER_WORKER = 4;
+
+	/**
+	 * Counts the amount of times each character appears in the input.
+	 *
+	 * @param input     The input string.
+	 * @param threshold Inputs no longer than this are counted sequentially, on the calling thread.
+	 * @return The frequency of every character, indexed by the character.
+	 */
+	public static int[] countChars(String input, int threshold) {
+		if (threshold < 1)
+			throw new IllegalArgumentException("Threshold must be at least 1.");
+		return count(input.length(), threshold, Character.MAX_VALUE + 1, (histogram, start, end) -> {
+			for (int i = start; i < end; i++)
+				histogram[input.charAt(i)]++;
+		});
+	}
+
+	/**
+	 * Counts the amount of times each byte value appears in the input.
+	 *
+	 * @param input     The input bytes.
+	 * @param threshold Inputs no longer than this are counted sequentially, on the calling thread.
+	 * @return The frequency of every byte value, indexed by the unsigned value of the byte.
+	 */
+	public static int[] countBytes(byte[] input, int threshold) {
+		if (threshold < 1)
+			throw new IllegalArgumentException("Threshold must be at least 1.");
+		return count(input.length, threshold, 256, (histogram, start, end) -> {
+			for (int i = start; i < end; i++)
+				histogram[input[i] & 0xFF]++;
+		});
+	}
+
+	/* Counts the symbols in [start, end) of the input into the histogram. */
+	private interface Counter {
+		void count(int[] histogram, int start, int end);
+	}
+
+	@SuppressWarnings("serial") //the task that starts the workers, which is never serialized either
+	private static int[] count(int length, int threshold, int symbols, Counter counter) {
+		int[] histogram = new int[symbols];
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int workers = pool.getParallelism();
+		if (length <= threshold) {
+			counter.count(histogram, 0, length);
+			return histogram;
+		}
+
+		int pieces = (int) Math.min(length, (long) workers * PIECES_PER_WORKER);
+		AtomicInteger next = new AtomicInteger();
+		Worker[] tasks = new Worker[workers];
+		for (int i = 0; i < workers; i++)
+			tasks[i] = new Worker(counter, length, pieces, next, symbols);
+		pool.invoke(new RecursiveTask<Void>() {
+			@Override
+			protected Void compute() {
+				invokeAll(tasks);
+				return null;
+			}
+		});
+
+		for (Worker task : tasks) {
+			int[] counted = task.join();
+			for (int i = 0; counted != null && i < symbols; i++)
+				histogram[i] += counted[i];
+		}
+		return histogram;
+	}
+
+	@SuppressWarnings("serial")
+	private static class Worker extends RecursiveTask<int[]> {
+		private final Counter counter;
+		private final int length, pieces, symbols;
+		private final AtomicInteger next;
+
+		Worker(Counter counter, int length, int pieces, AtomicInteger next, int symbols) {
+			this.counter = counter;
+			this.length = length;
+			this.pieces = pieces;
+			this.next = next;
+			this.symbols = symbols;
+		}
+
+		/* The histogram of the pieces counted by this worker, or null if the others took them all. */
+		@Override
+		protected int[] compute() {
+			int[] histogram = null;
+			for (int piece = next.getAndIncrement(); piece < pieces; piece = next.getAndIncrement()) {
+				if (histogram == null)
+					histogram = new int[symbols];
+				counter.count(histogram, (int) ((long) length * piece / pieces),
+						(int) ((long) length * (piece + 1) / pieces));
+			}
+			return histogram;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package prj02;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import List.ArrayList;
+import List.List;
+import com.sun.management.ThreadMXBean;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records where the time of a coding pipeline goes. Every stage, such as {@code compute_fd} or {@code encode}, is
+ * timed separately, with the bytes it reads and writes, its throughput and the bytes it allocates on the heap, which
+ * are read from the {@code ThreadMXBean} of the current thread. Allocation tracking is a setting of the whole JVM, so
+ * it is only turned on when metrics are enabled; otherwise allocations are reported only if it is already on.
+ *
+ * Every stage is also committed as a {@code prj02.HuffmanStage} JFR event, so a flight recording of an application
+ * using the codec shows the same stages next to its own hot spots, whether or not the metrics themselves are enabled.
+ *
+ * When neither the metrics nor the JFR event are enabled, {@code stage} hands back a shared stage that does nothing,
+ * so an instrumented pipeline costs one check per stage and allocates nothing for it.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class PipelineMetrics {
+	/* System property that turns the metrics of HuffmanCoding.main on. */
+	public static final String PROPERTY = "huffman.metrics";
+
+	private static final ThreadMXBean THREADS = allocationCounter();
+	private static final Stage NO_STAGE = new Stage(null, null, 0, null);
+
+	private final boolean enabled;
+	private final List<StageRecord> records = new ArrayList<>();
+
+	/**
+	 * @param enabled Whether stages are recorded; when {@code false}, only the JFR events are emitted, and only while
+	 *                a recording asks for them.
+	 */
+	public PipelineMetrics(boolean enabled) {
+		this.enabled = enabled;
+		if (enabled && THREADS != null)
+			THREADS.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	/**
+	 * @return Metrics enabled by the {@code PROPERTY} system property, e.g. {@code -Dhuffman.metrics=true}.
+	 */
+	public static PipelineMetrics fromSystemProperty() {
+		return new PipelineMetrics(Boolean.getBoolean(PROPERTY));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts timing a stage, which ends when the returned stage is closed, ideally with a try-with-resources block.
+	 *
+	 * @param name    Name of the stage, usually the method it runs.
+	 * @param bytesIn The size of the input of the stage.
+	 * @return The running stage.
+	 */
+	public Stage stage(String name, long bytesIn) {
+		StageEvent event = new StageEvent(); //no allocation once compiled, while no recording is running
+		if (!enabled && !event.isEnabled())
+			return NO_STAGE;
+		event.begin();
+		return new Stage(enabled ? this : null, name, bytesIn, event);
+	}
+
+	/**
+	 * Runs a step as a stage, for steps whose output size isn't worth recording.
+	 *
+	 * @param name    Name of the stage, usually the method it runs.
+	 * @param bytesIn The size of the input of the stage.
+	 * @param step    The step.
+	 * @return What the step returned.
+	 */
+	public <T> T measure(String name, long bytesIn, Supplier<T> step) {
+		Stage stage = stage(name, bytesIn);
+		try {
+			return step.get();
+		} finally {
+			stage.close();
+		}
+	}
+
+	/**
+	 * @return The stages recorded so far, in the order they ended.
+	 */
+	public List<StageRecord> getRecords() {
+		return records;
+	}
+
+	/**
+	 * @return The records of every stage with the given name.
+	 */
+	public List<StageRecord> getRecords(String name) {
+		List<StageRecord> result = new ArrayList<>();
+		for (StageRecord record : records)
+			if (record.getName().equals(name))
+				result.add(record);
+		return result;
+	}
+
+	/**
+	 * Prints a table with one row for every recorded stage.
+	 *
+	 * @param out Where to print it.
+	 */
+	public void print(PrintStream out) {
+		out.printf("%-16s %12s %12s %12s %10s %14s%n", "Stage", "Time (ms)", "Bytes in", "Bytes out", "MB/s", "Allocated");
+		for (StageRecord record : records)
+			out.printf("%-16s %12.3f %12d %12d %10.1f %14s%n", record.getName(), record.getNanos() / 1e6,
+					record.getBytesIn(), record.getBytesOut(), record.getMegabytesPerSecond(),
+					record.getAllocatedBytes() < 0 ? "n/a" : String.valueOf(record.getAllocatedBytes()));
+	}
+
+	/* Bytes allocated so far by the current thread, or -1 when the JVM can't tell or isn't tracking them. */
+	private static long allocatedBytes() {
+		return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	/* The HotSpot extension of the platform ThreadMXBean, which counts allocations; null on other JVMs. */
+	private static ThreadMXBean allocationCounter() {
+		Object threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof ThreadMXBean) || !((ThreadMXBean) threads).isThreadAllocatedMemorySupported())
+			return null;
+		return (ThreadMXBean) threads;
+	}
+
+	/**
+	 * A stage that is running. Closing it ends the stage, records it and commits its JFR event.
+	 */
+	public static class Stage implements AutoCloseable {
+		private final PipelineMetrics metrics; //null when only the JFR event is wanted
+		private final String name;
+		private final long bytesIn;
+		private final StageEvent event;
+		private final long start;
+		private final long allocatedAtStart;
+		private long bytesOut;
+
+		private Stage(PipelineMetrics metrics, String name, long bytesIn, StageEvent event) {
+			this.metrics = metrics;
+			this.name = name;
+			this.bytesIn = bytesIn;
+			this.event = event;
+			this.allocatedAtStart = event == null ? 0 : allocatedBytes();
+			this.start = event == null ? 0 : System.nanoTime();
+		}
+
+		/**
+		 * @param bytes The size of the output of the stage.
+		 */
+		public void setBytesOut(long bytes) {
+			bytesOut = bytes;
+		}
+
+		@Override
+		public void close() {
+			if (event == null)
+				return;
+			long nanos = System.nanoTime() - start;
+			long allocated = allocatedAtStart < 0 ? -1 : allocatedBytes() - allocatedAtStart;
+			event.end();
+			if (event.shouldCommit()) {
+				event.stage = name;
+				event.bytesIn = bytesIn;
+				event.bytesOut = bytesOut;
+				event.allocated = allocated;
+				event.commit();
+			}
+			if (metrics != null)
+				metrics.records.add(new StageRecord(name, nanos, bytesIn, bytesOut, allocated));
+		}
+	}
+
+	/**
+	 * What a stage did in one invocation.
+	 */
+	public static class StageRecord {
+		private final String name;
+		private final long nanos;
+		private final long bytesIn;
+		private final long bytesOut;
+		private final long allocatedBytes;
+
+		public StageRecord(String name, long nanos, long bytesIn, long bytesOut, long allocatedBytes) {
+			this.name = name;
+			this.nanos = nanos;
+			this.bytesIn = bytesIn;
+			this.bytesOut = bytesOut;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return The wall time of the stage, in nanoseconds.
+		 */
+		public long getNanos() {
+			return nanos;
+		}
+
+		public long getBytesIn() {
+			return bytesIn;
+		}
+
+		public long getBytesOut() {
+			return bytesOut;
+		}
+
+		/**
+		 * @return The bytes allocated on the heap by the thread running the stage, or -1 if the JVM can't tell.
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		/**
+		 * @return The input processed per second, in megabytes.
+		 */
+		public double getMegabytesPerSecond() {
+			return nanos == 0 ? 0 : bytesIn / 1e6 / (nanos / 1e9);
+		}
+	}
+
+	@Name("prj02.HuffmanStage")
+	@Label("Huffman Stage")
+	@Category("Huffman Coding")
+	@Description("A stage of the Huffman coding pipeline")
+	static class StageEvent extends Event {
+		@Label("Stage")
+		String stage;
+
+		@Label("Bytes In")
+		@DataAmount
+		long bytesIn;
+
+		@Label("Bytes Out")
+		@DataAmount
+		long bytesOut;
+
+		@Label("Allocated")
+		@DataAmount
+		long allocated;
+	}
+}
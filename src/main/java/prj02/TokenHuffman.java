@@ -0,0 +1,227 @@
+package prj02;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import HashTable.HashTableOA;
+import HashTable.Map;
+import HashTable.ObjectHashFunction;
+
+/**
+ * Huffman code over the words of a text instead of its characters. The text is split into tokens: every run of
+ * letters and digits is a token, and every other character (a space, a punctuation sign, a line break) is a token by
+ * itself. A word that appears often then costs a single code of a few bits, where the character code spends several
+ * bits on each of its letters.
+ *
+ * Tokens that appear fewer than {@code minCount} times are left out of the vocabulary, which would otherwise be
+ * mostly made of words seen once. They are written as the {@code ESCAPE} code, followed by the codes of their
+ * characters in a second, character level code, and the code of the empty string, which ends the token. The escape
+ * and the end of a token are counted like any other symbol, so both codes are optimal for what they encode.
+ *
+ * Both codes are canonical, with lengths from {@code MinimumRedundancy}, and every map is a {@code HashTableOA}: a
+ * vocabulary holds hundreds of thousands of distinct words, which chained buckets hashed by the sum of the
+ * characters can't handle.
+ *
+ * @author Yariel Mercado
+ * @version 2.0
+ * @since 10/16/2021
+ */
+public class TokenHuffman {
+	/* Vocabulary entry of the rare tokens; no token is empty. */
+	public static final String ESCAPE = "";
+	/* Character level symbol that ends an escaped token. */
+	public static final String END = "";
+	public static final int DEFAULT_MIN_COUNT = 2;
+
+	private final String[] tokens;
+	private final long[] tokenCodes;
+	private final int[] tokenLengths;
+	private final Map<String, Integer> tokenIds;
+	private final int escapeId; //-1 when no token is rare
+
+	private final String[] chars; //characters of the rare tokens, and END
+	private final long[] charCodes;
+	private final int[] charLengths;
+	private final Map<String, Integer> charIds;
+
+	private final HuffmanDecoder tokenDecoder;
+	private final HuffmanDecoder charDecoder;
+
+	/**
+	 * Builds the codes for the tokens of the given text.
+	 *
+	 * @param text     The text the codes are fitted to.
+	 * @param minCount Least amount of times a token must appear to get its own code.
+	 */
+	public TokenHuffman(String text, int minCount) {
+		if (minCount < 1)
+			throw new IllegalArgumentException("Minimum count must be at least 1.");
+		Map<String, Integer> fD = HuffmanCoding.compute_fd_tokens(text);
+
+		/* The vocabulary, plus the escape, counted once for every occurrence of a rare token. */
+		String[] vocabulary = new String[fD.size() + 1];
+		int[] weights = new int[fD.size() + 1];
+		int n = 0, escapes = 0;
+		Map<String, Integer> charFd = new HashTableOA<>(new ObjectHashFunction<>());
+		for (String token : fD.getKeys()) {
+			int count = fD.get(token);
+			if (count >= minCount) {
+				vocabulary[n] = token;
+				weights[n++] = count;
+				continue;
+			}
+			escapes += count;
+			for (int i = 0; i < token.length(); i++) {
+				String c = String.valueOf(token.charAt(i));
+				Integer previous = charFd.get(c);
+				charFd.put(c, previous == null ? count : previous + count);
+			}
+		}
+		if (escapes > 0) {
+			vocabulary[n] = ESCAPE;
+			weights[n++] = escapes;
+			charFd.put(END, escapes);
+		}
+		escapeId = escapes > 0 ? n - 1 : -1;
+		tokens = Arrays.copyOf(vocabulary, n);
+		tokenLengths = MinimumRedundancy.codeLengths(Arrays.copyOf(weights, n));
+		tokenCodes = CanonicalCode.codes(tokenLengths);
+		tokenIds = ids(tokens);
+
+		chars = new String[charFd.size()];
+		int[] charWeights = new int[chars.length];
+		int i = 0;
+		for (String c : charFd.getKeys()) {
+			chars[i] = c;
+			charWeights[i++] = charFd.get(c);
+		}
+		charLengths = MinimumRedundancy.codeLengths(charWeights);
+		charCodes = CanonicalCode.codes(charLengths);
+		charIds = ids(chars);
+
+		tokenDecoder = n > 0 ? new HuffmanDecoder(tokens, tokenCodes, tokenLengths) : null;
+		charDecoder = chars.length > 0 ? new HuffmanDecoder(chars, charCodes, charLengths) : null;
+	}
+
+	public TokenHuffman(String text) {
+		this(text, DEFAULT_MIN_COUNT);
+	}
+
+	/**
+	 * Splits a text into tokens: runs of letters and digits, and every other character on its own.
+	 *
+	 * @param text The text.
+	 * @return The tokens, in order; joined together, they are the text.
+	 */
+	public static String[] tokenize(String text) {
+		String[] tokens = new String[Math.max(16, text.length() / 4)];
+		int count = 0;
+		int i = 0;
+		while (i < text.length()) {
+			int start = i++;
+			if (Character.isLetterOrDigit(text.charAt(start)))
+				while (i < text.length() && Character.isLetterOrDigit(text.charAt(i)))
+					i++;
+			if (count == tokens.length)
+				tokens = Arrays.copyOf(tokens, count * 2);
+			tokens[count++] = text.substring(start, i);
+		}
+		return Arrays.copyOf(tokens, count);
+	}
+
+	/**
+	 * Encodes a text made of the tokens and characters the codes were built for.
+	 *
+	 * @param text The text.
+	 * @return The packed codes; the symbol count is the amount of tokens.
+	 * @throws IllegalArgumentException If the text has a rare token with a character that no rare token had.
+	 */
+	public PackedBits encode(String text) {
+		String[] input = tokenize(text);
+		BitWriter writer = new BitWriter(Math.max(1, text.length() / 2));
+		for (String token : input) {
+			Integer id = tokenIds.get(token);
+			if (id != null) {
+				writer.write(tokenCodes[id], tokenLengths[id]);
+				continue;
+			}
+			if (escapeId < 0)
+				throw new IllegalArgumentException("Token has no Huffman code, and there is no escape: " + token);
+			writer.write(tokenCodes[escapeId], tokenLengths[escapeId]);
+			for (int i = 0; i < token.length(); i++)
+				writeChar(String.valueOf(token.charAt(i)), writer);
+			writeChar(END, writer);
+		}
+		return writer.finish(input.length);
+	}
+
+	/**
+	 * Decodes the given packed bits back into the original text.
+	 *
+	 * @param bits Packed bits generated by {@code encode}.
+	 * @return The decoded text.
+	 */
+	public String decode(PackedBits bits) {
+		int n = bits.getSymbolCount();
+		if (n == 0)
+			return "";
+		BitReader reader = new BitReader(bits);
+		StringBuilder result = new StringBuilder(n * 2);
+		for (int i = 0; i < n; i++) {
+			int id = tokenDecoder.nextSymbol(reader);
+			if (id != escapeId) {
+				result.append(tokens[id]);
+				continue;
+			}
+			/* Past the end the reader gives zeros, which may never decode to END, so the bits must be checked here. */
+			for (String c = chars[charDecoder.nextSymbol(reader)]; !c.isEmpty(); c = chars[charDecoder.nextSymbol(reader)]) {
+				if (reader.getBitPosition() > bits.getBitLength())
+					throw truncated(n);
+				result.append(c);
+			}
+		}
+		if (reader.getBitPosition() > bits.getBitLength())
+			throw truncated(n);
+		return result.toString();
+	}
+
+	/**
+	 * @return The amount of tokens with their own code, not counting the escape.
+	 */
+	public int getVocabularySize() {
+		return escapeId < 0 ? tokens.length : tokens.length - 1;
+	}
+
+	/**
+	 * Estimates the size of what a decoder needs besides the encoded bits: every token of the vocabulary and every
+	 * character of the rare tokens in UTF-8, each followed by a separator byte and a byte with its code length.
+	 *
+	 * @return The size of the model, in bytes.
+	 */
+	public long getModelSize() {
+		long size = 0;
+		for (String token : tokens)
+			size += token.getBytes(StandardCharsets.UTF_8).length + 2;
+		for (String c : chars)
+			size += c.getBytes(StandardCharsets.UTF_8).length + 2;
+		return size;
+	}
+
+	private static IllegalArgumentException truncated(int tokens) {
+		return new IllegalArgumentException("Encoded bits ended before " + tokens + " tokens were decoded.");
+	}
+
+	private void writeChar(String c, BitWriter writer) {
+		Integer id = charIds.get(c);
+		if (id == null)
+			throw new IllegalArgumentException("Character of a rare token has no Huffman code: " + c);
+		writer.write(charCodes[id], charLengths[id]);
+	}
+
+	private static Map<String, Integer> ids(String[] symbols) {
+		Map<String, Integer> ids = new HashTableOA<>(Math.max(1, symbols.length), new ObjectHashFunction<>());
+		for (int i = 0; i < symbols.length; i++)
+			ids.put(symbols[i], i);
+		return ids;
+	}
+}
@@ -0,0 +1,116 @@
+package HashTable;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashTableOATest {
+
+	Random random;
+	/* Every key has the same hash, so all of them sit in a single run of consecutive slots. */
+	HashFunction<String> constant;
+
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(19);
+		constant = key -> 7;
+	}
+
+	@Test
+	public void testSameAsHashMap() {
+		/* Same answers as java.util.HashMap through a random mix of puts and removes. */
+		HashTableOA<String, Integer> map = new HashTableOA<>(new ObjectHashFunction<>());
+		HashTableOA<String, Integer> weak = new HashTableOA<>(1, new SimpleHashFunction<>());
+		java.util.HashMap<String, Integer> expected = new java.util.HashMap<>();
+		boolean check = true;
+		for (int i = 0; i < 100000; i++) {
+			String key = "k" + random.nextInt(20000);
+			if (random.nextInt(3) < 2) {
+				map.put(key, i);
+				weak.put(key, i);
+				expected.put(key, i);
+			}
+			else {
+				Integer removed = expected.remove(key);
+				check &= java.util.Objects.equals(map.remove(key), removed)
+						&& java.util.Objects.equals(weak.remove(key), removed);
+			}
+		}
+		check &= map.size() == expected.size() && weak.size() == expected.size()
+				&& map.getKeys().size() == expected.size() && map.getValues().size() == expected.size();
+		for (String key : expected.keySet())
+			check &= expected.get(key).equals(map.get(key)) && expected.get(key).equals(weak.get(key));
+		check &= !map.containsKey("missing") && map.get("missing") == null && map.remove("missing") == null;
+
+		assertTrue("Open addressing table differs from java.util.HashMap", check);
+	}
+
+	@Test
+	public void testRemoveShiftsBack() {
+		/* 7 colliding keys in 16 slots: removing any of them must move the ones after it back into the run. */
+		boolean check = true;
+		for (int removed = 0; removed < 7; removed++) {
+			HashTableOA<String, Integer> map = new HashTableOA<>(1, constant);
+			for (int i = 0; i < 7; i++)
+				map.put("c" + i, i);
+			check &= map.remove("c" + removed) == removed && map.size() == 6 && map.get("c" + removed) == null;
+			for (int i = 0; i < 7; i++)
+				check &= i == removed || map.get("c" + i) == i;
+
+			/* The freed slot is reused, and the run still has no holes. */
+			map.put("c" + removed, removed + 100);
+			check &= map.size() == 7 && map.get("c" + removed) == removed + 100;
+			for (int i = 0; i < 7; i++)
+				check &= map.remove("c" + i) != null;
+			check &= map.isEmpty();
+		}
+
+		assertTrue("Removing a colliding key lost the keys after it", check);
+	}
+
+	@Test
+	public void testRehash() {
+		/* Starts with room for a single key, so the table doubles many times. */
+		HashTableOA<String, Integer> map = new HashTableOA<>(1, new ObjectHashFunction<>());
+		HashTableOA<String, Integer> colliding = new HashTableOA<>(1, constant);
+		for (int i = 0; i < 20000; i++)
+			map.put("k" + i, i);
+		for (int i = 0; i < 300; i++)
+			colliding.put("c" + i, i);
+
+		boolean check = map.size() == 20000 && map.getKeys().size() == 20000 && colliding.size() == 300;
+		long sum = 0;
+		for (int value : map.getValues())
+			sum += value;
+		check &= sum == 20000L * 19999 / 2;
+		for (int i = 0; i < 20000; i++)
+			check &= map.get("k" + i) == i;
+		for (int i = 0; i < 300; i++)
+			check &= colliding.get("c" + i) == i;
+
+		assertTrue("Keys were lost when the table grew", check);
+	}
+
+	@Test
+	public void testClear() {
+		HashTableOA<String, Integer> map = new HashTableOA<>(new ObjectHashFunction<>());
+		for (int i = 0; i < 100; i++)
+			map.put("k" + i, i);
+		map.clear();
+		boolean check = map.isEmpty() && map.size() == 0 && map.getKeys().isEmpty() && map.get("k1") == null
+				&& !map.containsKey("k1") && map.remove("k1") == null;
+
+		map.put("k1", 1);
+		check &= map.size() == 1 && map.get("k1") == 1;
+
+		assertTrue("Table was not emptied", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullKey() {
+		new HashTableOA<String, Integer>(new ObjectHashFunction<>()).put(null, 1);
+	}
+}
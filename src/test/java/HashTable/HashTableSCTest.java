@@ -0,0 +1,44 @@
+package HashTable;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashTableSCTest {
+
+	HashTableSC<String, Integer> map;
+
+	@Before
+	public void setUp() throws Exception {
+		/* String.hashCode is negative for about half of these keys. */
+		map = new HashTableSC<>(new ObjectHashFunction<>());
+		for (int i = 0; i < 1000; i++)
+			map.put("absent" + i, i);
+	}
+
+	@Test
+	public void testNegativeHashes() {
+		int negative = 0;
+		boolean check = map.size() == 1000;
+		for (int i = 0; i < 1000; i++) {
+			check &= map.get("absent" + i) == i && map.containsKey("absent" + i) && !map.containsKey("missing" + i);
+			if (("absent" + i).hashCode() < 0)
+				negative++;
+		}
+
+		assertTrue("Keys with negative hash codes were not found", check && negative > 0);
+	}
+
+	@Test
+	public void testRemoveNegativeHashes() {
+		boolean check = true;
+		for (int i = 0; i < 1000; i += 2)
+			check &= map.remove("absent" + i) == i && map.remove("absent" + i) == null;
+		for (int i = 0; i < 1000; i++)
+			check &= (map.get("absent" + i) == null) == (i % 2 == 0);
+		check &= map.size() == 500 && map.getKeys().size() == 500;
+
+		assertTrue("Keys with negative hash codes were not removed", check);
+	}
+}
@@ -0,0 +1,97 @@
+package HashTable;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IntHashTableOATest {
+
+	Random random;
+
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(5);
+	}
+
+	@Test
+	public void testSameAsHashMap() {
+		/* Same answers as java.util.HashMap through a random mix of adds, puts and removes. */
+		IntHashTableOA table = new IntHashTableOA(1);
+		java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+		boolean check = true;
+		for (int i = 0; i < 100000; i++) {
+			int key = random.nextInt(30000) - 10000;
+			int op = random.nextInt(4);
+			if (op == 0) {
+				table.put(key, i);
+				expected.put(key, i);
+			}
+			else if (op < 3)
+				check &= table.add(key, 3) == expected.merge(key, 3, Integer::sum);
+			else
+				check &= table.remove(key) == (expected.remove(key) != null);
+		}
+		check &= table.size() == expected.size() && table.keys().length == expected.size();
+		for (int key : table.keys())
+			check &= table.get(key, -1) == expected.get(key) && table.containsKey(key);
+		check &= table.get(99999, -7) == -7 && !table.containsKey(99999);
+
+		assertTrue("Int table differs from java.util.HashMap", check);
+	}
+
+	@Test
+	public void testRemoveShiftsBack() {
+		/* A table kept just under its load limit has long runs, so most removals move keys back into the hole. */
+		IntHashTableOA table = new IntHashTableOA(4096);
+		for (int key = 0; key < 4096; key++)
+			table.put(key * 64, key);
+		boolean check = true;
+		for (int key = 0; key < 4096; key += 2)
+			check &= table.remove(key * 64) && !table.remove(key * 64);
+		check &= table.size() == 2048;
+		for (int key = 0; key < 4096; key++)
+			check &= key % 2 == 0 ? !table.containsKey(key * 64) : table.get(key * 64, -1) == key;
+
+		for (int key = 1; key < 4096; key += 2)
+			check &= table.remove(key * 64);
+		check &= table.isEmpty() && table.keys().length == 0;
+
+		assertTrue("Removing a key lost the keys after it", check);
+	}
+
+	@Test
+	public void testRehash() {
+		/* Starts with room for a single key, so the table doubles many times, negative keys included. */
+		IntHashTableOA table = new IntHashTableOA(1);
+		for (int key = -50000; key < 50000; key++)
+			table.add(key, key);
+		boolean check = table.size() == 100000 && table.keys().length == 100000;
+		for (int key = -50000; key < 50000; key++)
+			check &= table.get(key, key + 1) == key;
+		check &= table.add(Integer.MAX_VALUE, 1) == 1 && table.size() == 100001;
+
+		assertTrue("Keys were lost when the table grew", check);
+	}
+
+	@Test
+	public void testClear() {
+		IntHashTableOA table = new IntHashTableOA();
+		for (int key = 0; key < 100; key++)
+			table.put(key, key);
+		table.clear();
+		boolean check = table.isEmpty() && table.keys().length == 0 && !table.containsKey(1)
+				&& table.get(1, -1) == -1 && !table.remove(1);
+
+		check &= table.add(1, 5) == 5 && table.size() == 1;
+
+		assertTrue("Table was not emptied", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptyKey() {
+		new IntHashTableOA().add(IntHashTableOA.EMPTY, 1);
+	}
+}
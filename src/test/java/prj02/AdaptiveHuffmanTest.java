@@ -0,0 +1,99 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Tree.BTNode;
+
+public class AdaptiveHuffmanTest {
+
+	byte[] input;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_bytes("stringData6.txt");
+	}
+
+	@Test
+	public void testRoundTrip() {
+		byte[] all = new byte[2000];
+		for (int i = 0; i < all.length; i++)
+			all[i] = (byte) (i * 7);
+		byte[][] inputs = {input, new byte[0], new byte[]{42}, new byte[500], all};
+
+		boolean check = true;
+		for (byte[] data : inputs)
+			check &= Arrays.equals(AdaptiveHuffman.decode(AdaptiveHuffman.encode(data)), data);
+
+		assertTrue("Failed to round trip the bytes", check);
+	}
+
+	@Test
+	public void testStreams() throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		long count = AdaptiveHuffman.compress(new ByteArrayInputStream(input), compressed);
+		ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+		long decoded = AdaptiveHuffman.decompress(new ByteArrayInputStream(compressed.toByteArray()), decompressed);
+
+		boolean check = count == input.length && decoded == input.length
+				&& Arrays.equals(decompressed.toByteArray(), input)
+				&& compressed.size() < input.length;
+
+		assertTrue("Failed to round trip through streams", check);
+	}
+
+	@Test
+	public void testTreeStaysOptimal() {
+		/* After every symbol, the tree must be a Huffman tree for the counts so far, plus the zero weight NYT leaf. */
+		AdaptiveHuffman model = new AdaptiveHuffman();
+		BitWriter writer = new BitWriter();
+		long[] counts = new long[256];
+		for (int i = 0; i < input.length; i++) {
+			model.encode(input[i] & 0xFF, writer);
+			counts[input[i] & 0xFF]++;
+			if (i % 97 == 0 || i == input.length - 1)
+				assertEquals("Tree isn't optimal after " + (i + 1) + " symbols", huffmanCost(counts), cost(model.getRoot(), 0));
+		}
+	}
+
+	@Test
+	public void testCompression() {
+		/* Within a few bits per distinct symbol of the static code, which also has to send its table. */
+		ByteHuffmanCode code = ByteHuffmanCode.fromFrequencies(HuffmanCoding.compute_fd_bytes(input));
+		long adaptive = AdaptiveHuffman.encode(input).getBitLength();
+		long twoPass = code.encode(input).getBitLength();
+
+		assertTrue("Adaptive coding is too far from the static code", adaptive < twoPass + 64 * 20);
+	}
+
+	/* Sum of weight times depth over the leaves. */
+	private static long cost(BTNode<Integer, String> node, int depth) {
+		if (node.getLeftChild() == null)
+			return (long) node.getKey() * depth;
+		return cost(node.getLeftChild(), depth + 1) + cost(node.getRightChild(), depth + 1);
+	}
+
+	/* Cost of a Huffman code for the non zero counts and one extra zero weight symbol. */
+	private static long huffmanCost(long[] counts) {
+		PriorityQueue<Long> queue = new PriorityQueue<>();
+		queue.add(0L);
+		for (long count : counts)
+			if (count > 0)
+				queue.add(count);
+		long cost = 0;
+		while (queue.size() > 1) {
+			long merged = queue.poll() + queue.poll();
+			cost += merged;
+			queue.add(merged);
+		}
+		return cost;
+	}
+}
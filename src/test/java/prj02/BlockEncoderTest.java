@@ -0,0 +1,62 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockEncoderTest {
+
+	byte[] input;
+	ByteHuffmanCode code;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_bytes("stringData6.txt");
+		code = ByteHuffmanCode.fromFrequencies(HuffmanCoding.compute_fd_bytes(input));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		BlockEncoded blocks = BlockEncoder.encode(code, input, 100);
+
+		boolean check = blocks.getBlockCount() == 41 && blocks.getBlockSymbols(40) == 20
+				&& java.util.Arrays.equals(BlockEncoder.decode(code, blocks), input);
+
+		assertTrue("Failed to round trip the blocks", check);
+	}
+
+	@Test
+	public void testSameBitsAsSingleBlock() {
+		/* Without padding between blocks, the blocks hold exactly the bits of the serial encoding. */
+		BlockEncoded blocks = BlockEncoder.encode(code, input, 8);
+		PackedBits serial = code.encode(input);
+
+		StringBuilder joined = new StringBuilder();
+		for (int b = 0; b < blocks.getBlockCount(); b++) {
+			BitReader reader = blocks.reader(b);
+			for (long i = 0; i < blocks.getBlockBits(b); i++)
+				joined.append(reader.readBit());
+		}
+
+		assertTrue("Blocks differ from the serial encoding", joined.toString().equals(serial.toBitString()));
+	}
+
+	@Test
+	public void testSingleBlock() {
+		int block = 7;
+		BlockEncoded blocks = BlockEncoder.encode(code, input, 256);
+		byte[] decoded = new byte[blocks.getBlockSymbols(block)];
+		BlockEncoder.decodeBlock(code, blocks, block, decoded, 0);
+
+		assertArrayEquals(java.util.Arrays.copyOfRange(input, 7 * 256, 8 * 256), decoded);
+	}
+
+	@Test
+	public void testEmpty() {
+		BlockEncoded blocks = BlockEncoder.encode(code, new byte[0], 100);
+
+		assertTrue("Empty input must have no blocks", blocks.getBlockCount() == 0 && BlockEncoder.decode(code, blocks).length == 0);
+	}
+
+}
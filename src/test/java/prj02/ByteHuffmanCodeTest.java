@@ -0,0 +1,88 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ByteHuffmanCodeTest {
+
+	byte[] input;
+	int[] fD;
+	ByteHuffmanCode code;
+	PackedBits packed;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_bytes("stringData6.txt");
+
+		fD = HuffmanCoding.compute_fd_bytes(input);
+		code = ByteHuffmanCode.fromFrequencies(fD);
+		packed = code.encode(input);
+	}
+
+	@Test
+	public void testFrequencyDistribution() {
+		/* Same counts as the character mode for this ASCII input. */
+		boolean check = fD['t'] == 87 && fD['R'] == 80 && fD['A'] == 50 && fD[' '] == 0;
+
+		assertTrue("Final Frequency Distribution is Incorrect", check);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		boolean check = java.util.Arrays.equals(code.decode(packed), input)
+				&& packed.getByteLength() < input.length;
+
+		assertTrue("Failed to round trip the bytes", check);
+	}
+
+	@Test
+	public void testBinary() {
+		/* Every byte value, heavily skewed towards zero, so unrestricted codes would be longer than the table. */
+		byte[] binary = new byte[1 << 16];
+		for (int i = 0; i < 256; i++)
+			binary[i] = (byte) i;
+		ByteHuffmanCode skewed = ByteHuffmanCode.fromFrequencies(HuffmanCoding.compute_fd_bytes(binary));
+
+		boolean check = java.util.Arrays.equals(skewed.decode(skewed.encode(binary)), binary);
+		for (int b = 0; b < 256; b++)
+			check &= skewed.getLength(b) >= 1 && skewed.getLength(b) <= ByteHuffmanCode.MAX_CODE_LENGTH;
+
+		assertTrue("Failed to round trip binary data", check);
+	}
+
+	@Test
+	public void testStreams() {
+		byte[] streams = code.encodeStreams(input);
+		boolean check = java.util.Arrays.equals(code.decodeStreams(streams, input.length), input)
+				&& streams.length <= packed.getByteLength() + ByteHuffmanCode.JUMP_TABLE_BYTES + ByteHuffmanCode.STREAMS;
+
+		/* Short inputs leave some streams shorter than the others, or empty. */
+		for (int length = 0; length < 40; length++) {
+			byte[] prefix = java.util.Arrays.copyOf(input, length);
+			check &= java.util.Arrays.equals(code.decodeStreams(code.encodeStreams(prefix), length), prefix);
+		}
+
+		/* Decoding into the middle of a larger array, from the middle of another one. */
+		byte[] src = new byte[streams.length + 20];
+		System.arraycopy(streams, 0, src, 10, streams.length);
+		byte[] dest = new byte[input.length + 6];
+		code.decodeStreams(src, 10, streams.length, dest, 3, input.length);
+		check &= java.util.Arrays.equals(java.util.Arrays.copyOfRange(dest, 3, 3 + input.length), input);
+
+		assertTrue("Failed to round trip four streams", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTruncatedStreams() {
+		byte[] streams = code.encodeStreams(input);
+		code.decodeStreams(java.util.Arrays.copyOf(streams, streams.length - 1), input.length);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingByte() {
+		code.encode(new byte[] {' '});
+	}
+
+}
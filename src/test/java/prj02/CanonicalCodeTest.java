@@ -0,0 +1,79 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+import Tree.*;
+
+public class CanonicalCodeTest {
+
+	String input;
+	Map<String, Integer> fD;
+	BTNode<Integer,String> huffmanRoot;
+	Map<String,String> encodedHuffman;
+	Map<String,Integer> codeLengths;
+	Map<String,String> canonical;
+
+	@Before
+	public void setUp() throws Exception {
+		input = "EEEEIIITTOS";
+
+		fD = HuffmanCoding.compute_fd(input);
+		huffmanRoot = HuffmanCoding.huffman_tree(fD);
+		encodedHuffman = HuffmanCoding.huffman_code(huffmanRoot);
+		codeLengths = HuffmanCoding.code_lengths(huffmanRoot);
+		canonical = HuffmanCoding.canonical_code(codeLengths);
+	}
+
+	@Test
+	public void testLengths() {
+		boolean check = codeLengths.size() == encodedHuffman.size();
+		for (String key : encodedHuffman.getKeys()) {
+			if (codeLengths.get(key) != encodedHuffman.get(key).length()
+					|| canonical.get(key).length() != encodedHuffman.get(key).length())
+				check = false;
+		}
+
+		assertTrue("Code lengths differ from the Huffman tree", check);
+	}
+
+	@Test
+	public void testCode() {
+		/* E, I and T have 2 bit codes, O and S have 3 bit codes; ties are broken by symbol. */
+		boolean check = canonical.get("E").equals("00")
+				&& canonical.get("I").equals("01")
+				&& canonical.get("T").equals("10")
+				&& canonical.get("O").equals("110")
+				&& canonical.get("S").equals("111");
+
+		assertTrue("Failed to assign canonical codes", check);
+	}
+
+	@Test
+	public void testDecodeFromLengths() {
+		String input = HuffmanCoding.load_data("stringData6.txt");
+		Map<String, Integer> lengths = HuffmanCoding.code_lengths(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd(input)));
+		PackedBits packed = HuffmanCoding.encode_packed(HuffmanCoding.canonical_code(lengths), input);
+
+		/* Only the lengths travel with the encoded bits; the codes are rebuilt from them. */
+		HashTableSC<String, Integer> header = new HashTableSC<>(new SimpleHashFunction<>());
+		for (String key : lengths.getKeys())
+			header.put(key, lengths.get(key));
+
+		assertTrue("Failed to decode with codes rebuilt from the lengths",
+				HuffmanCoding.decode_packed(packed, HuffmanCoding.canonical_code(header)).equals(input));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLengths() {
+		HashTableSC<String, Integer> lengths = new HashTableSC<>(new SimpleHashFunction<>());
+		lengths.put("a", 1);
+		lengths.put("b", 1);
+		lengths.put("c", 1);
+		HuffmanCoding.canonical_code(lengths);
+	}
+
+}
@@ -0,0 +1,83 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+
+public class CodePointTest {
+
+	String text;
+
+	@Before
+	public void setUp() throws Exception {
+		text = "Hola \uD83D\uDE00 mundo \uD83D\uDE00\uD83D\uDE00! \u4E2D\u6587 \uD841\uDF0E\uD841\uDF31 \uD834\uDD1E caf\u00E9\n" + HuffmanCoding.load_data("stringData6.txt");
+	}
+
+	@Test
+	public void testHistogram() {
+		CodePointHistogram histogram = HuffmanCoding.compute_fd_code_points(text);
+		Map<String, Integer> chars = HuffmanCoding.compute_fd(text);
+
+		/* Every emoji is one symbol, not two surrogates. */
+		boolean check = histogram.count(0x1F600) == 3 && histogram.count(0x2070E) == 1 && histogram.count(0x1D11E) == 1
+				&& histogram.count('\u4E2D') == 1 && histogram.count(0xD83D) == 0
+				&& histogram.getTotal() == text.codePointCount(0, text.length())
+				&& chars.get(String.valueOf((char) 0xD83D)) == 3;
+
+		int[] codePoints = histogram.codePoints();
+		long total = 0;
+		for (int i = 0; i < codePoints.length; i++) {
+			total += histogram.count(codePoints[i]);
+			check &= i == 0 || codePoints[i - 1] < codePoints[i];
+		}
+		check &= total == histogram.getTotal() && codePoints[codePoints.length - 1] == 0x20731;
+
+		assertTrue("Code points were not counted as single symbols", check);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		CodePointCode code = CodePointCode.fromHistogram(HuffmanCoding.compute_fd_code_points(text));
+		PackedBits bits = code.encode(text);
+		boolean check = code.decode(bits).equals(text) && bits.getSymbolCount() == text.codePointCount(0, text.length())
+				&& code.getLength(0x1F600) > 0 && code.getLength(0xD83D) == 0;
+
+		/* Cheaper than coding both surrogates of every supplementary character. */
+		Map<String, String> chars = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd(text)));
+		check &= bits.getBitLength() < HuffmanCoding.encode_packed(chars, text).getBitLength();
+
+		/* A lone surrogate is a code point of its own. */
+		String broken = "a\uD83Db\uDE00";
+		CodePointCode lone = CodePointCode.fromHistogram(HuffmanCoding.compute_fd_code_points(broken));
+		check &= lone.decode(lone.encode(broken)).equals(broken) && lone.getSymbolCount() == 4;
+
+		CodePointCode single = CodePointCode.fromHistogram(HuffmanCoding.compute_fd_code_points("\uD83D\uDE00\uD83D\uDE00"));
+		check &= single.decode(single.encode("\uD83D\uDE00\uD83D\uDE00")).equals("\uD83D\uDE00\uD83D\uDE00") && single.decode(single.encode("")).isEmpty();
+
+		assertTrue("Failed to round trip code points", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingCodePoint() {
+		CodePointCode.fromHistogram(HuffmanCoding.compute_fd_code_points(text)).encode("\uD83D\uDE43");
+	}
+
+	@Test
+	public void testInvalidLengths() {
+		/* The first two codes already fill the code space, so CanonicalCode would reject the lengths as a prefix code. */
+		boolean check = true;
+		for (int length : new int[] {0, -1, CodePointCode.MAX_CODE_LENGTH + 1, 70}) {
+			try {
+				new CodePointCode(new int[] {'a', 'b', 'c'}, new int[] {1, 1, length});
+				check = false;
+			} catch (IllegalArgumentException e) {
+				check &= e.getMessage().startsWith("Invalid code length");
+			}
+		}
+
+		assertTrue("Invalid code lengths were not reported as such", check);
+	}
+}
@@ -0,0 +1,184 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HufFileTest {
+
+	File input;
+	File container;
+	File decompressed;
+	byte[] data;
+
+	@Before
+	public void setUp() throws Exception {
+		input = File.createTempFile("huffman", ".txt");
+		container = File.createTempFile("huffman", ".huf");
+		decompressed = File.createTempFile("huffman", ".out");
+		input.deleteOnExit();
+		container.deleteOnExit();
+		decompressed.deleteOnExit();
+
+		/* Text followed by binary data, so the two halves have different statistics. */
+		byte[] text = HuffmanCoding.load_bytes("stringData6.txt");
+		data = Arrays.copyOf(text, text.length * 2);
+		for (int i = text.length; i < data.length; i++)
+			data[i] = (byte) (i * 31 + (i >>> 3));
+		Files.write(input.toPath(), data);
+	}
+
+	private boolean roundTrip(HufFileWriter writer) throws IOException {
+		writer.write(input.getPath(), container.getPath());
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			return reader.corruptBlocks().isEmpty() && reader.decompress(decompressed.getPath()) == data.length
+					&& Arrays.equals(Files.readAllBytes(decompressed.toPath()), data);
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		assertTrue("Failed to round trip with a shared code", roundTrip(new HufFileWriter(1000, false)));
+		assertTrue("Failed to round trip with a code per block", roundTrip(new HufFileWriter(1000, true)));
+		assertTrue("Failed to round trip a single block", roundTrip(new HufFileWriter()));
+		assertTrue("Failed to round trip four streams", roundTrip(new HufFileWriter(1000, false, true)));
+		assertTrue("Failed to round trip four streams with a code per block", roundTrip(new HufFileWriter(999, true, true)));
+	}
+
+	@Test
+	public void testRandomAccess() throws IOException {
+		new HufFileWriter(512, true).write(input.getPath(), container.getPath());
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			int last = reader.getBlockCount() - 1;
+			boolean check = reader.getOriginalSize() == data.length && reader.getBlockCount() == (data.length + 511) / 512
+					&& Arrays.equals(reader.readBlock(3), Arrays.copyOfRange(data, 3 * 512, 4 * 512))
+					&& Arrays.equals(reader.readBlock(last), Arrays.copyOfRange(data, last * 512, data.length));
+			assertTrue("Failed to decode single blocks", check);
+		}
+	}
+
+	@Test
+	public void testCorruptBlock() throws IOException {
+		new HufFileWriter(1000, false).write(input.getPath(), container.getPath());
+
+		/* Flip a byte in the middle of the stored bytes of block 2. */
+		long position;
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			position = HufFormat.HEADER_BYTES + reader.getBlockCount() * HufFormat.INDEX_ENTRY_BYTES + 4;
+		}
+		try (RandomAccessFile file = new RandomAccessFile(container, "rw");
+			 HufFileReader reader = new HufFileReader(container.getPath())) {
+			file.seek(HufFormat.HEADER_BYTES + 2 * HufFormat.INDEX_ENTRY_BYTES);
+			long offset = file.readLong();
+			int length = file.readInt();
+			assertTrue(offset >= position);
+			file.seek(offset + length / 2);
+			int b = file.read();
+			file.seek(offset + length / 2);
+			file.write(b ^ 0x10);
+
+			assertEquals(Collections.singletonList(2), reader.corruptBlocks());
+			assertArrayEquals(Arrays.copyOfRange(data, 1000, 2000), reader.readBlock(1));
+			try {
+				reader.readBlock(2);
+				fail("A corrupt block must not be decoded");
+			} catch (IOException e) {
+				assertTrue(e.getMessage().contains("Block 2"));
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidCode() throws IOException {
+		/* a = 0, b = 10 and c = 11, so the bits of "cc" are 1111. */
+		data = "aaaabbcc".repeat(100).getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+		Files.write(input.toPath(), data);
+		new HufFileWriter(1000, true).write(input.getPath(), container.getPath());
+
+		/* Lengthens the code of c in the table of the block, with valid checksums, so 111 is no longer a code. */
+		try (RandomAccessFile file = new RandomAccessFile(container, "rw")) {
+			file.seek(HufFormat.HEADER_BYTES);
+			long offset = file.readLong();
+			byte[] stored = new byte[file.readInt()];
+			file.seek(offset);
+			file.readFully(stored);
+			int[] lengths = HufFormat.unpackLengths(stored, 0);
+			lengths['c'] = 3;
+			System.arraycopy(HufFormat.packLengths(lengths), 0, stored, 0, HufFormat.TABLE_BYTES);
+			file.seek(offset);
+			file.write(stored);
+
+			byte[] index = new byte[HufFormat.INDEX_ENTRY_BYTES];
+			file.seek(HufFormat.HEADER_BYTES + 16);
+			file.writeInt(HufFileWriter.crc(stored, 0, stored.length));
+			file.seek(HufFormat.HEADER_BYTES);
+			file.readFully(index);
+			file.writeInt(HufFileWriter.crc(index, 0, index.length));
+		}
+
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			reader.readRange(0, 100);
+			fail("A block with an invalid code must not be decoded");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Block 0 is not valid"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBlockTooLarge() {
+		new HufFileWriter(HufFileWriter.MAX_BLOCK_SIZE + 1, false);
+	}
+
+	@Test
+	public void testCorruptHeader() throws IOException {
+		new HufFileWriter(1000, false).write(input.getPath(), container.getPath());
+		try (RandomAccessFile file = new RandomAccessFile(container, "rw")) {
+			file.seek(12);
+			file.write(0xFF);
+		}
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			fail("A corrupt header must be rejected");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("Header"));
+		}
+
+		Files.write(container.toPath(), new byte[HufFormat.HEADER_BYTES]);
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			fail("A file without the magic number must be rejected");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Not a .huf file"));
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		data = new byte[0];
+		Files.write(input.toPath(), data);
+		assertTrue("Failed to round trip an empty file", roundTrip(new HufFileWriter(1000, false)));
+		assertTrue("Failed to round trip an empty file", roundTrip(new HufFileWriter(1000, true)));
+		assertTrue("Failed to round trip an empty file", roundTrip(new HufFileWriter(1000, false, true)));
+	}
+
+	@Test
+	public void testReadRange() throws IOException {
+		new HufFileWriter(1000, true).write(input.getPath(), container.getPath());
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			long[][] ranges = {{0, 0}, {0, 10}, {990, 1010}, {1500, 4500}, {data.length - 100, data.length}};
+			for (long[] range : ranges)
+				assertArrayEquals(Arrays.copyOfRange(data, (int) range[0], (int) range[1]), reader.readRange(range[0], range[1]));
+		}
+
+		new HufFileWriter(1000, false, true).write(input.getPath(), container.getPath());
+		try (HufFileReader reader = new HufFileReader(container.getPath())) {
+			assertArrayEquals(Arrays.copyOfRange(data, 990, 2500), reader.readRange(990, 2500));
+		}
+	}
+}
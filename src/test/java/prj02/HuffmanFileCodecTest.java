@@ -0,0 +1,207 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HuffmanFileCodecTest {
+
+	File input;
+	File compressed;
+	File decompressed;
+
+	@Before
+	public void setUp() throws Exception {
+		input = File.createTempFile("huffman", ".txt");
+		compressed = File.createTempFile("huffman", ".bin");
+		decompressed = File.createTempFile("huffman", ".out");
+		input.deleteOnExit();
+		compressed.deleteOnExit();
+		decompressed.deleteOnExit();
+	}
+
+	/* Whether the compressed file decompresses back into the input, byte for byte. */
+	private boolean decompressesToInput() throws IOException {
+		long decoded = HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+		return decoded == input.length()
+				&& java.util.Arrays.equals(Files.readAllBytes(decompressed.toPath()), Files.readAllBytes(input.toPath()));
+	}
+
+	/* Round trips the text through every format, with one assertion each. */
+	private void roundTrip(String text) throws IOException {
+		Files.write(input.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		String name = text.length() > 20 ? text.length() + " characters" : "\"" + text + "\"";
+
+		/* The text path counts characters instead of bytes. */
+		long size = HuffmanFileCodec.compressText(input.getPath(), compressed.getPath());
+		long decoded = HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+		assertTrue("Failed to round trip " + name + " as text", decoded == text.length()
+				&& new String(Files.readAllBytes(decompressed.toPath()), StandardCharsets.UTF_8).equals(text));
+		/* The analysis predicts the exact size without encoding. */
+		assertTrue("Text analysis of " + name + " is not exact",
+				HuffmanFileCodec.analyzeText(input.getPath()).getTotalBytes() == size && size == compressed.length());
+
+		HuffmanFileCodec.compress(input.getPath(), compressed.getPath());
+		assertTrue("Failed to round trip " + name + " as bytes", decompressesToInput());
+		CompressionStats stats = HuffmanFileCodec.analyze(input.getPath());
+		assertTrue("Byte analysis of " + name + " is not exact",
+				stats.getTotalBytes() == compressed.length() && stats.getInputBytes() == input.length());
+
+		/* The single pass, adaptive path. */
+		HuffmanFileCodec.compressAdaptive(input.getPath(), compressed.getPath());
+		assertTrue("Failed to round trip " + name + " with adaptive coding", decompressesToInput());
+
+		/* And the order-1 one, whose reported size includes its tables. */
+		size = HuffmanFileCodec.compressContext(input.getPath(), compressed.getPath());
+		assertTrue("Order-1 size of " + name + " is not the file size", size == compressed.length());
+		assertTrue("Failed to round trip " + name + " with order-1 coding", decompressesToInput());
+	}
+
+	@Test
+	public void testWholeFile() throws IOException {
+		/* Several lines and several chunks, unlike load_data which only reads the first line. */
+		StringBuilder sb = new StringBuilder();
+		String line = HuffmanCoding.load_data("stringData6.txt");
+		for (int i = 0; i < 40; i++)
+			sb.append(line).append("\n").append("línea ").append(i).append(" ñ中\n");
+
+		roundTrip(sb.toString());
+		assertTrue("Compressed file is not smaller", compressed.length() < input.length());
+	}
+
+	/* Cuts the last third off the compressed file, which must then fail to decompress. */
+	private boolean rejectsTruncated() throws IOException {
+		byte[] whole = Files.readAllBytes(compressed.toPath());
+		Files.write(compressed.toPath(), java.util.Arrays.copyOf(whole, whole.length * 2 / 3));
+		try {
+			HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+			return false;
+		} catch (IOException e) {
+			return e.getMessage().startsWith("Corrupted");
+		}
+	}
+
+	@Test
+	public void testTruncated() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		String line = HuffmanCoding.load_data("stringData6.txt");
+		for (int i = 0; i < 40; i++)
+			sb.append(line).append("\n");
+		Files.write(input.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+		HuffmanFileCodec.compress(input.getPath(), compressed.getPath());
+		assertTrue("Truncated byte file was decompressed", rejectsTruncated());
+		HuffmanFileCodec.compressText(input.getPath(), compressed.getPath());
+		assertTrue("Truncated text file was decompressed", rejectsTruncated());
+		HuffmanFileCodec.compressContext(input.getPath(), compressed.getPath());
+		assertTrue("Truncated order-1 file was decompressed", rejectsTruncated());
+		HuffmanFileCodec.compressAdaptive(input.getPath(), compressed.getPath());
+		assertTrue("Truncated adaptive file was decompressed", rejectsTruncated());
+	}
+
+	@Test
+	public void testInvalidCodeLength() throws IOException {
+		Files.write(input.toPath(), "EEEEIIITTOS".getBytes(StandardCharsets.UTF_8));
+		HuffmanFileCodec.compressText(input.getPath(), compressed.getPath());
+
+		/* The length of the first symbol comes after the magic number, format, symbol count, symbol total and char. */
+		boolean check = true;
+		for (int length : new int[] {0, HuffmanFileCodec.MAX_CODE_LENGTH + 1, 200}) {
+			byte[] bytes = Files.readAllBytes(compressed.toPath());
+			bytes[4 + 1 + 8 + 4 + 2] = (byte) length;
+			Files.write(compressed.toPath(), bytes);
+			try {
+				HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+				check = false;
+			} catch (IOException e) {
+				check &= e.getMessage().startsWith("Corrupted header");
+			}
+		}
+
+		assertTrue("Invalid code length was not reported as a corrupted header", check);
+	}
+
+	@Test
+	public void testSmallFiles() throws IOException {
+		roundTrip("");
+		roundTrip("a");
+		roundTrip("aaaa");
+		roundTrip("EEEEIIITTOS");
+	}
+
+	@Test
+	public void testMapped() throws IOException {
+		byte[] data = new byte[100000];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (byte) (i % 7 == 0 ? i : i % 3); //skewed, with every byte value present
+		Files.write(input.toPath(), data);
+
+		HuffmanFileCodec.compressMapped(input.getPath(), compressed.getPath());
+		long decoded = HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+
+		boolean check = decoded == data.length
+				&& java.util.Arrays.equals(Files.readAllBytes(decompressed.toPath()), data)
+				&& compressed.length() < data.length;
+
+		/* Same code and same bits as the streaming byte path. */
+		byte[] mapped = Files.readAllBytes(compressed.toPath());
+		HuffmanFileCodec.compress(input.getPath(), compressed.getPath());
+		check &= java.util.Arrays.equals(Files.readAllBytes(compressed.toPath()), mapped);
+
+		assertTrue("Failed to round trip a mapped file", check);
+	}
+
+	@Test
+	public void testMappedSegments() throws IOException {
+		Files.write(input.toPath(), "EEEEIIITTOS".getBytes(StandardCharsets.UTF_8));
+
+		try (MappedInput mapped = new MappedInput(input.getPath(), 4)) {
+			long[] frequencies = mapped.histogram();
+			boolean check = mapped.segmentCount() == 3
+					&& frequencies['E'] == 4 && frequencies['I'] == 3 && frequencies['T'] == 2
+					&& frequencies['O'] == 1 && frequencies['S'] == 1;
+
+			assertTrue("Failed to count bytes across segments", check);
+		}
+	}
+
+	@Test
+	public void testContext() throws IOException {
+		/* Words whose letters depend on the one before them, over several chunks. */
+		String[] words = {"the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "and", "quietly", "sleeps"};
+		java.util.Random random = new java.util.Random(7);
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < 3 * HuffmanFileCodec.CHUNK_SIZE)
+			sb.append(words[random.nextInt(words.length)]).append(random.nextInt(10) == 0 ? ".\n" : " ");
+		Files.write(input.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+		long orderZero = HuffmanFileCodec.compress(input.getPath(), compressed.getPath());
+		long orderOne = HuffmanFileCodec.compressContext(input.getPath(), compressed.getPath());
+		HuffmanFileCodec.decompress(compressed.getPath(), decompressed.getPath());
+		boolean check = java.util.Arrays.equals(Files.readAllBytes(decompressed.toPath()), Files.readAllBytes(input.toPath()))
+				&& orderOne < orderZero * 3 / 4;
+
+		/* Random bytes have no context worth a table: everything goes to the fallback. */
+		byte[] noise = new byte[20000];
+		random.nextBytes(noise);
+		long[] counts = new long[256 * 256];
+		ContextHuffmanCode.count(noise, 0, noise.length, counts, ContextHuffmanCode.INITIAL_CONTEXT);
+		ContextHuffmanCode code = ContextHuffmanCode.fromCounts(counts);
+		check &= code.getTableCount() == 1 && java.util.Arrays.equals(code.decode(code.encode(noise)), noise);
+
+		assertTrue("Order-1 code failed to round trip, or isn't smaller", check);
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotCompressed() throws IOException {
+		Files.write(input.toPath(), "not compressed".getBytes(StandardCharsets.UTF_8));
+		HuffmanFileCodec.decompress(input.getPath(), decompressed.getPath());
+	}
+
+}
@@ -0,0 +1,182 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+import PriorityQueue.*;
+import SortedList.*;
+import Tree.*;
+
+public class HuffmanTreeTest {
+
+	Random random;
+
+	@Before
+	public void setUp() throws Exception {
+		random = new Random(13);
+	}
+
+	@Test
+	public void testHeapOrder() {
+		/* Equal values come out in the order they went in. */
+		BinaryHeap<BTNode<Integer, String>> heap = new BinaryHeap<>(1);
+		BTNode<Integer, String>[] nodes = new BTNode[2000];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new BTNode<>(random.nextInt(20), String.valueOf((char) ('a' + random.nextInt(3))));
+			heap.add(nodes[i]);
+		}
+
+		boolean check = heap.size() == nodes.length;
+		BTNode<Integer, String> previous = heap.removeMin();
+		while (!heap.isEmpty()) {
+			BTNode<Integer, String> next = heap.removeMin();
+			int comparison = previous.compareTo(next);
+			check &= comparison < 0 || (comparison == 0 && indexOf(nodes, previous) < indexOf(nodes, next));
+			previous = next;
+		}
+
+		assertTrue("Heap doesn't hand out the values in order", check);
+	}
+
+	@Test
+	public void testSameCodesAsSortedList() {
+		boolean check = true;
+		for (File file : new File("inputData").listFiles()) {
+			String input = HuffmanCoding.load_data(file.getName());
+			if (!input.isEmpty())
+				check &= sameCodes(HuffmanCoding.compute_fd(input));
+		}
+
+		/* A large alphabet, with many repeated frequencies. */
+		Map<String, Integer> fD = new HashTableSC<>(new SimpleHashFunction<>());
+		for (int c = 0; c < 3000; c++)
+			fD.put(String.valueOf((char) (0x100 + c)), 1 + random.nextInt(50));
+		check &= sameCodes(fD);
+
+		assertTrue("Heap based tree differs from the sorted list based one", check);
+	}
+
+	@Test
+	public void testCompactTree() {
+		boolean check = true;
+		for (File file : new File("inputData").listFiles()) {
+			String input = HuffmanCoding.load_data(file.getName());
+			if (input.isEmpty())
+				continue;
+			Map<String, Integer> fD = HuffmanCoding.compute_fd(input);
+			check &= sameCodes(fD, HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree_compact(fD)));
+		}
+		for (int alphabet : new int[]{1, 2, 3, 100, 3000}) {
+			Map<String, Integer> fD = new HashTableSC<>(new SimpleHashFunction<>());
+			for (int c = 0; c < alphabet; c++)
+				fD.put(String.valueOf((char) (0x20 + random.nextInt(60000))), 1 + random.nextInt(8));
+			HuffmanTree tree = HuffmanCoding.huffman_tree_compact(fD);
+			check &= sameCodes(fD, HuffmanCoding.huffman_code(tree));
+
+			/* Parents come after their children, and the root holds the total weight. */
+			long total = 0;
+			for (String key : fD.getKeys())
+				total += fD.get(key);
+			check &= tree.getNodeCount() == 2 * fD.size() - 1 && tree.getWeight(tree.getRoot()) == total;
+			for (int node = 0; node < tree.getRoot(); node++)
+				check &= tree.getParent(node) > node;
+		}
+
+		assertTrue("Compact tree differs from huffman_tree", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompactTreeTooDeep() {
+		/* Fibonacci weights make a tree 69 levels deep, more than a long code can hold. */
+		String[] symbols = new String[70];
+		long[] weights = new long[70];
+		for (int i = 0; i < 70; i++) {
+			symbols[i] = String.format("s%02d", i);
+			weights[i] = i < 2 ? 1 : weights[i - 1] + weights[i - 2];
+		}
+		new HuffmanTree(symbols, weights).codeTable();
+	}
+
+	@Test
+	public void testInPlaceLengths() {
+		boolean check = true;
+		for (File file : new File("inputData").listFiles()) {
+			String input = HuffmanCoding.load_data(file.getName());
+			if (input.isEmpty())
+				continue;
+			Map<String, Integer> fD = HuffmanCoding.compute_fd(input);
+			Map<String, String> codes = HuffmanCoding.huffman_code(fD, CodeEngine.IN_PLACE);
+			check &= HuffmanCoding.encoded_size(fD, HuffmanCoding.code_lengths(fD, CodeEngine.IN_PLACE))
+					== HuffmanCoding.encoded_size(fD, HuffmanCoding.code_lengths(fD, CodeEngine.TREE))
+					&& HuffmanCoding.decode_packed(HuffmanCoding.encode_packed(codes, input), codes).equals(input);
+		}
+
+		for (int alphabet = 1; alphabet < 400; alphabet += 7) {
+			int[] weights = new int[alphabet];
+			for (int i = 0; i < alphabet; i++)
+				weights[i] = 1 + random.nextInt(random.nextBoolean() ? 5 : 100000);
+			int[] lengths = MinimumRedundancy.codeLengths(weights);
+
+			/* Optimal, and a complete prefix code: the Kraft sum is exactly 1. */
+			long size = 0;
+			double kraft = 0;
+			java.util.PriorityQueue<Long> queue = new java.util.PriorityQueue<>();
+			for (int i = 0; i < alphabet; i++) {
+				size += (long) weights[i] * lengths[i];
+				kraft += Math.pow(2, -lengths[i]);
+				queue.add((long) weights[i]);
+			}
+			long optimal = 0;
+			while (queue.size() > 1) {
+				long merged = queue.poll() + queue.poll();
+				optimal += merged;
+				queue.add(merged);
+			}
+			check &= size == optimal && (alphabet == 1 || kraft == 1.0);
+		}
+
+		assertTrue("In place code lengths aren't optimal", check);
+	}
+
+	/* Compares the given codes against the ones of the BTNode tree. */
+	private static boolean sameCodes(Map<String, Integer> fD, Map<String, String> actual) {
+		Map<String, String> expected = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(fD));
+		boolean same = expected.size() == actual.size();
+		for (String key : expected.getKeys())
+			same &= expected.get(key).equals(actual.get(key));
+		return same;
+	}
+
+	/* Compares the codes of huffman_tree against the tree built with the sorted list it used to rely on. */
+	private static boolean sameCodes(Map<String, Integer> fD) {
+		SortedLinkedList<BTNode<Integer, String>> sll = HuffmanCoding.orderFrequencies(fD);
+		while (sll.size() > 1) {
+			BTNode<Integer, String> node1 = sll.removeIndex(0);
+			BTNode<Integer, String> node2 = sll.removeIndex(0);
+			BTNode<Integer, String> rootNode = new BTNode<>(node1.getKey() + node2.getKey(), node1.getValue() + node2.getValue());
+			rootNode.setLeftChild(node1);
+			rootNode.setRightChild(node2);
+			sll.add(rootNode);
+		}
+		Map<String, String> expected = HuffmanCoding.huffman_code(sll.removeIndex(0));
+		Map<String, String> actual = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(fD));
+
+		boolean same = expected.size() == actual.size();
+		for (String key : expected.getKeys())
+			same &= expected.get(key).equals(actual.get(key));
+		return same;
+	}
+
+	private static int indexOf(Object[] array, Object value) {
+		for (int i = 0; i < array.length; i++)
+			if (array[i] == value)
+				return i;
+		return -1;
+	}
+}
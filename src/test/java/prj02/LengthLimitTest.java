@@ -0,0 +1,77 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+
+public class LengthLimitTest {
+
+	String input;
+	Map<String, Integer> fD;
+
+	@Before
+	public void setUp() throws Exception {
+		/* Fibonacci frequencies give the deepest possible Huffman tree. */
+		StringBuilder sb = new StringBuilder();
+		int a = 1, b = 1;
+		for (char c = 'a'; c <= 'p'; c++) {
+			for (int i = 0; i < a; i++)
+				sb.append(c);
+			int next = a + b;
+			a = b;
+			b = next;
+		}
+		input = sb.toString();
+		fD = HuffmanCoding.compute_fd(input);
+	}
+
+	@Test
+	public void testUnrestricted() {
+		Map<String, Integer> huffman = HuffmanCoding.code_lengths(HuffmanCoding.huffman_tree(fD));
+		Map<String, Integer> limited = HuffmanCoding.limited_code_lengths(fD, 32);
+
+		boolean check = HuffmanCoding.encoded_size(fD, limited) == HuffmanCoding.encoded_size(fD, huffman)
+				&& HuffmanCoding.length_limit_cost(fD, 32) == 0;
+
+		assertTrue("A cap deeper than the tree must not change the encoded size", check);
+	}
+
+	@Test
+	public void testLimited() {
+		Map<String, Integer> limited = HuffmanCoding.limited_code_lengths(fD, 5);
+		boolean check = true;
+		for (String key : limited.getKeys()) {
+			if (limited.get(key) > 5 || limited.get(key) < 1)
+				check = false;
+		}
+
+		/* The lengths must still form a prefix code that round trips. */
+		Map<String, String> codes = HuffmanCoding.canonical_code(limited);
+		PackedBits packed = HuffmanCoding.encode_packed(codes, input);
+		check &= HuffmanCoding.decode_packed(packed, codes).equals(input)
+				&& packed.getBitLength() == HuffmanCoding.encoded_size(fD, limited)
+				&& HuffmanCoding.length_limit_cost(fD, 5) > 0;
+
+		assertTrue("Failed to limit the code lengths", check);
+	}
+
+	@Test
+	public void testOptimal() {
+		/* With weights 1, 1, 2, 4 and a 2 bit cap, the only possible code gives every symbol 2 bits. */
+		int[] lengths = PackageMerge.codeLengths(new long[] {4, 1, 2, 1}, 2);
+		assertArrayEquals(new int[] {2, 2, 2, 2}, lengths);
+
+		/* With a 3 bit cap, the Huffman lengths already fit. */
+		lengths = PackageMerge.codeLengths(new long[] {4, 1, 2, 1}, 3);
+		assertArrayEquals(new int[] {1, 3, 2, 3}, lengths);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManySymbols() {
+		PackageMerge.codeLengths(new long[] {1, 1, 1, 1, 1}, 2);
+	}
+
+}
@@ -0,0 +1,229 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+import Tree.*;
+
+public class PackedEncodingTest {
+
+	String input;
+	Map<String, Integer> fD;
+	BTNode<Integer,String> huffmanRoot;
+	Map<String,String> encodedHuffman;
+	String output;
+	PackedBits packed;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_data("stringData6.txt");
+
+		fD = HuffmanCoding.compute_fd(input);
+		huffmanRoot = HuffmanCoding.huffman_tree(fD);
+		encodedHuffman = HuffmanCoding.huffman_code(huffmanRoot);
+		output = HuffmanCoding.encode(encodedHuffman, input);
+		packed = HuffmanCoding.encode_packed(encodedHuffman, input);
+	}
+
+	@Test
+	public void testSameBitsAsString() {
+		boolean check = packed.getBitLength() == output.length()
+				&& packed.toBitString().equals(output)
+				&& packed.getSymbolCount() == input.length();
+
+		assertTrue("Packed encoding differs from the string encoding", check);
+	}
+
+	@Test
+	public void testPackedSize() {
+		boolean check = packed.getByteLength() == (output.length() + 7) / 8
+				&& packed.getBytes().length == packed.getByteLength()
+				&& packed.getByteLength() < input.getBytes().length;
+
+		assertTrue("Packed encoding has the wrong size", check);
+	}
+
+	@Test
+	public void testDecoding() {
+		boolean check = HuffmanCoding.decode_packed(packed, encodedHuffman).equals(input)
+				&& HuffmanCoding.decode_packed(HuffmanCoding.encode_packed(encodedHuffman, ""), encodedHuffman).isEmpty();
+
+		assertTrue("Failed to decode the packed encoding", check);
+	}
+
+	@Test
+	public void testAnalyze() {
+		CompressionStats stats = HuffmanCoding.analyze(input);
+		boolean check = stats.getEncodedBits() == output.length() && stats.getEncodedBytes() == packed.getByteLength()
+				&& stats.getSymbolCount() == input.length() && stats.getDistinctSymbols() == fD.size()
+				&& stats.getInputBytes() == input.getBytes(java.nio.charset.StandardCharsets.UTF_8).length
+				&& stats.getEntropy() <= stats.getAverageCodeLength() && stats.getRedundancy() < 1
+				&& stats.getTotalBytes() == stats.getHeaderBytes() + packed.getByteLength();
+
+		/* Four equally likely symbols: exactly 2 bits each, no redundancy. */
+		CompressionStats even = HuffmanCoding.analyze("abcdabcd");
+		check &= Math.abs(even.getEntropy() - 2) < 1e-9 && even.getEncodedBits() == 16 && even.getRedundancy() < 1e-9;
+
+		/* A lone symbol still takes one bit, all of it redundant. */
+		CompressionStats single = HuffmanCoding.analyze("aaaa");
+		check &= single.getEntropy() == 0 && single.getEncodedBits() == 4 && single.getRedundancy() == 1;
+
+		CompressionStats empty = HuffmanCoding.analyze("");
+		check &= empty.getSymbolCount() == 0 && empty.getTotalBytes() == empty.getHeaderBytes() && empty.getSavings() == 0;
+
+		assertTrue("Analysis doesn't match the encoded output", check);
+	}
+
+	@Test
+	public void testAnalyzeLimitsLengths() {
+		/* Fibonacci frequencies make the Huffman tree 31 levels deep, deeper than compressText allows. */
+		Map<String, Integer> fibonacci = new HashTableSC<>(new SimpleHashFunction<>());
+		int previous = 0, current = 1;
+		for (int i = 0; i < 32; i++) {
+			fibonacci.put(String.valueOf((char) ('A' + i)), current);
+			int next = previous + current;
+			previous = current;
+			current = next;
+		}
+		int max = HuffmanFileCodec.MAX_CODE_LENGTH;
+
+		CompressionStats stats = HuffmanCoding.analyze(fibonacci);
+		boolean check = HuffmanCoding.length_limit_cost(fibonacci, max) > 0
+				&& stats.getEncodedBits() == HuffmanCoding.encoded_size(fibonacci, HuffmanCoding.limited_code_lengths(fibonacci, max));
+
+		assertTrue("Analysis didn't use the length limited code", check);
+	}
+
+	@Test
+	public void testDecodingSingleSymbol() {
+		Map<String, String> codes = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd("aaaa")));
+		PackedBits bits = HuffmanCoding.encode_packed(codes, "aaaa");
+
+		assertTrue("Failed to decode a single repeated symbol", HuffmanCoding.decode_packed(bits, codes).equals("aaaa"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoneOneBitCode() {
+		/* The only code is 0, so the 1 bits that follow the first symbol are not a code. */
+		HuffmanDecoder decoder = new HuffmanDecoder(new String[] {"a"}, new long[] {0}, new int[] {1});
+		decoder.decode(new PackedBits(new byte[] {(byte) 0xE0}, 3, 3));
+	}
+
+	@Test
+	public void testLongCodes() {
+		BitWriter writer = new BitWriter(1);
+		writer.write(0b101, 3);
+		writer.write(-1L, 64);
+		writer.write(0, 60);
+		writer.writeBit(1);
+		PackedBits bits = writer.finish(4);
+
+		StringBuilder expected = new StringBuilder("101");
+		for (int i = 0; i < 64; i++) expected.append('1');
+		for (int i = 0; i < 60; i++) expected.append('0');
+		expected.append('1');
+
+		assertTrue("Failed to write codes longer than the accumulator", bits.toBitString().equals(expected.toString()));
+	}
+
+
+	@Test
+	public void testDecodeRange() {
+		IndexedEncoding indexed = HuffmanCoding.encode_indexed(encodedHuffman, input, 64);
+		HuffmanDecoder decoder = new HuffmanDecoder(encodedHuffman);
+
+		boolean check = indexed.getBits().toBitString().equals(output)
+				&& indexed.getCheckpointCount() == (input.length() + 63) / 64;
+		int[][] ranges = {{0, 0}, {0, 1}, {63, 65}, {64, 128}, {100, 3000}, {input.length() - 5, input.length()}};
+		for (int[] range : ranges)
+			check &= HuffmanCoding.decode_range(indexed, encodedHuffman, range[0], range[1]).equals(input.substring(range[0], range[1]));
+		for (int start = 0; start < input.length(); start += 37)
+			check &= HuffmanCoding.decode_range(indexed, decoder, start, Math.min(input.length(), start + 100)).equals(
+					input.substring(start, Math.min(input.length(), start + 100)));
+
+		assertTrue("Range decoding differs from the input", check);
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testTraversalHelper() {
+		Map<String, String> codes = HuffmanCoding.traversal_helper(huffmanRoot, new HashTableSC<>(new SimpleHashFunction<>()), "");
+		Map<String, String> prefixed = HuffmanCoding.traversal_helper(huffmanRoot, new HashTableSC<>(new SimpleHashFunction<>()), "1");
+
+		boolean check = codes.size() == encodedHuffman.size() && prefixed.size() == encodedHuffman.size();
+		for (String key : encodedHuffman.getKeys())
+			check &= encodedHuffman.get(key).equals(codes.get(key)) && ("1" + encodedHuffman.get(key)).equals(prefixed.get(key));
+
+		assertTrue("traversal_helper differs from huffman_code", check);
+	}
+
+	@Test
+	public void testCodeTable() {
+		CodeTable table = HuffmanCoding.huffman_code_table(huffmanRoot);
+
+		boolean check = table.getSymbolCount() == encodedHuffman.size()
+				&& HuffmanCoding.encode_packed(table, input).toBitString().equals(output);
+		for (int i = 0; i < table.getSymbolCount(); i++) {
+			String code = encodedHuffman.get(table.getSymbol(i));
+			check &= code.length() == table.getLength(i)
+					&& (code.isEmpty() || Long.parseLong(code, 2) == table.getCode(i));
+		}
+
+		assertTrue("Code table differs from the string codes", check);
+	}
+
+	@Test
+	public void testDeepTree() {
+		/* A chain of 64 internal nodes is as deep as a code can go; one more is rejected instead of overflowing. */
+		BTNode<Integer, String> root = new BTNode<>(1, "x0");
+		for (int depth = 1; depth <= 64; depth++) {
+			BTNode<Integer, String> parent = new BTNode<>(1, "");
+			parent.setLeftChild(new BTNode<>(1, "x" + depth));
+			parent.setRightChild(root);
+			root = parent;
+		}
+		CodeTable table = HuffmanCoding.huffman_code_table(root);
+		boolean check = table.getSymbolCount() == 65 && table.getLength(64) == 64 && table.getCode(64) == -1L
+				&& HuffmanCoding.huffman_code(root).get("x0").equals("1".repeat(64));
+
+		BTNode<Integer, String> deeper = new BTNode<>(1, "");
+		deeper.setLeftChild(new BTNode<>(1, "y"));
+		deeper.setRightChild(root);
+		try {
+			HuffmanCoding.huffman_code_table(deeper);
+			check = false;
+		} catch (IllegalArgumentException e) {
+			/* expected */
+		}
+
+		assertTrue("Failed to read the codes of a deep tree", check);
+	}
+
+	@Test
+	public void testMultiSymbolDecoding() {
+		MultiSymbolDecoder decoder = new MultiSymbolDecoder(encodedHuffman);
+		boolean check = decoder.decode(packed).equals(input) && decoder.symbolsPerLookup(packed) > 1;
+
+		/* Every length of input, so the last symbols fall at every position of an entry. */
+		for (int length = 0; length < 20; length++)
+			check &= decoder.decode(HuffmanCoding.encode_packed(encodedHuffman, input.substring(0, length)))
+					.equals(input.substring(0, length));
+
+		/* Fibonacci frequencies give codes of every length, up to longer than the table. */
+		StringBuilder skewed = new StringBuilder();
+		for (int c = 0, a = 1, b = 1; c < 20; c++, b = a + b, a = b - a)
+			for (int i = 0; i < a; i++)
+				skewed.append((char) ('a' + c));
+		String text = skewed.toString();
+		Map<String, String> codes = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd(text)));
+		check &= new MultiSymbolDecoder(codes).decode(HuffmanCoding.encode_packed(codes, text)).equals(text);
+
+		Map<String, String> single = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd("aaaaaa")));
+		check &= new MultiSymbolDecoder(single).decode(HuffmanCoding.encode_packed(single, "aaaaaa")).equals("aaaaaa");
+
+		assertTrue("Failed to decode several symbols per lookup", check);
+	}
+}
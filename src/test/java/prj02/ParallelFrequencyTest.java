@@ -0,0 +1,75 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+
+public class ParallelFrequencyTest {
+
+	String input;
+	Map<String, Integer> fD;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_data("stringData6.txt");
+		fD = HuffmanCoding.compute_fd(input);
+	}
+
+	@Test
+	public void testSameAsSequential() {
+		/* A tiny threshold forces the input to be split into many pieces. */
+		Map<String, Integer> parallel = HuffmanCoding.compute_fd_parallel(input, 64);
+		Map<String, Integer> sequential = HuffmanCoding.compute_fd_parallel(input);
+
+		boolean check = parallel.size() == fD.size() && sequential.size() == fD.size();
+		for (String key : fD.getKeys())
+			check &= fD.get(key).equals(parallel.get(key)) && fD.get(key).equals(sequential.get(key));
+
+		assertTrue("Parallel Frequency Distribution is Incorrect", check);
+	}
+
+	@Test
+	public void testBytes() {
+		byte[] bytes = HuffmanCoding.load_bytes("stringData6.txt");
+
+		assertArrayEquals("Parallel byte histogram is incorrect",
+				HuffmanCoding.compute_fd_bytes(bytes), ParallelFrequency.countBytes(bytes, 100));
+	}
+
+	@Test
+	public void testSameCodes() {
+		Map<String, String> codes = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(HuffmanCoding.compute_fd_parallel(input, 64)));
+		Map<String, String> expected = HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(fD));
+
+		boolean check = true;
+		for (String key : expected.getKeys())
+			check &= expected.get(key).equals(codes.get(key));
+
+		assertTrue("Parallel counting changed the Huffman codes", check);
+	}
+
+	@Test
+	public void testFewerSymbolsThanPieces() {
+		/* Shorter than the pieces the workers would split it into, which must still count every symbol once. */
+		boolean check = true;
+		for (int n = 1; n < 40; n++) {
+			String text = input.substring(0, n);
+			int[] histogram = ParallelFrequency.countChars(text, 1);
+			int total = 0;
+			for (int count : histogram)
+				total += count;
+			check &= total == n && histogram[text.charAt(0)] == ParallelFrequency.countChars(text, n)[text.charAt(0)];
+		}
+
+		assertTrue("Short inputs were miscounted", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidThreshold() {
+		HuffmanCoding.compute_fd_parallel(input, 0);
+	}
+
+}
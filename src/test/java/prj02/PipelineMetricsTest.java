@@ -0,0 +1,72 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+import List.List;
+
+public class PipelineMetricsTest {
+
+	String input;
+
+	@Before
+	public void setUp() throws Exception {
+		input = HuffmanCoding.load_data("stringData6.txt");
+	}
+
+	@Test
+	public void testStages() {
+		PipelineMetrics metrics = new PipelineMetrics(true);
+		Map<String, Integer> fD = metrics.measure("compute_fd", input.length(), () -> HuffmanCoding.compute_fd(input));
+		try (PipelineMetrics.Stage stage = metrics.stage("encode", input.length())) {
+			String output = HuffmanCoding.encode(HuffmanCoding.huffman_code(HuffmanCoding.huffman_tree(fD)), input);
+			stage.setBytesOut((output.length() + 7) / 8);
+		}
+		Object nothing = metrics.measure("compute_fd", 0, () -> null);
+
+		List<PipelineMetrics.StageRecord> records = metrics.getRecords();
+		boolean check = fD.size() > 0 && nothing == null && records.size() == 3 && records.get(0).getName().equals("compute_fd")
+				&& records.get(0).getBytesIn() == input.length()
+				&& records.get(1).getName().equals("encode") && records.get(1).getBytesIn() == input.length()
+				&& records.get(1).getBytesOut() > 0 && records.get(1).getBytesOut() < input.length()
+				&& metrics.getRecords("compute_fd").size() == 2 && metrics.getRecords("decodeHuff").isEmpty();
+		for (PipelineMetrics.StageRecord record : records)
+			check &= record.getNanos() >= 0 && record.getMegabytesPerSecond() >= 0;
+
+		/* Counting allocates a string per character, which the thread's allocation counter must see, if it has one. */
+		long allocated = records.get(0).getAllocatedBytes();
+		check &= allocated == -1 || allocated >= input.length();
+
+		assertTrue("Stages were not recorded", check);
+	}
+
+	@Test
+	public void testDisabled() {
+		PipelineMetrics metrics = new PipelineMetrics(false);
+		PipelineMetrics.Stage first = metrics.stage("compute_fd", input.length());
+		HuffmanCoding.compute_fd(input);
+		first.setBytesOut(1);
+		first.close();
+
+		/* No recording is running during the tests, so every stage is the same one, which does nothing. */
+		boolean check = !metrics.isEnabled() && metrics.getRecords().isEmpty()
+				&& metrics.stage("encode", 0) == first;
+
+		assertTrue("Disabled metrics recorded a stage", check);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testStageEndsOnException() {
+		PipelineMetrics metrics = new PipelineMetrics(true);
+		try {
+			metrics.measure("huffman_tree", 0, () -> {
+				throw new IllegalStateException();
+			});
+		} finally {
+			assertEquals("Failed stage was not recorded", 1, metrics.getRecords("huffman_tree").size());
+		}
+	}
+}
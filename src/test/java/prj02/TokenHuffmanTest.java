@@ -0,0 +1,102 @@
+package prj02;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import HashTable.*;
+
+public class TokenHuffmanTest {
+
+	String text;
+	Random random;
+
+	@Before
+	public void setUp() throws Exception {
+		text = "The quick brown fox jumps over the lazy dog. The dog sleeps; the fox doesn't.\n"
+				+ "2021-10-16 12:00:01 INFO request 42 served in 13 ms\n"
+				+ "2021-10-16 12:00:02 INFO request 43 served in 11 ms\n";
+		random = new Random(19);
+	}
+
+	@Test
+	public void testTokenize() {
+		String[] tokens = TokenHuffman.tokenize(text);
+		boolean check = String.join("", tokens).equals(text)
+				&& tokens[0].equals("The") && tokens[1].equals(" ") && tokens[2].equals("quick")
+				&& TokenHuffman.tokenize("").length == 0;
+		for (String token : tokens)
+			check &= !token.isEmpty();
+
+		Map<String, Integer> fD = HuffmanCoding.compute_fd_tokens(text);
+		check &= fD.get("fox") == 2 && fD.get(" ") == 30 && fD.get("INFO") == 2 && fD.get("request") == 2;
+
+		assertTrue("Failed to split the text into tokens", check);
+	}
+
+	@Test
+	public void testRoundTrip() {
+		boolean check = true;
+		for (int minCount : new int[]{1, 2, 3, 100}) {
+			TokenHuffman code = new TokenHuffman(text, minCount);
+			check &= code.decode(code.encode(text)).equals(text);
+		}
+		for (File file : new File("inputData").listFiles()) {
+			String input = HuffmanCoding.load_data(file.getName());
+			TokenHuffman code = new TokenHuffman(input);
+			check &= code.decode(code.encode(input)).equals(input);
+		}
+		TokenHuffman single = new TokenHuffman("word");
+		check &= single.decode(single.encode("word")).equals("word");
+
+		assertTrue("Failed to round trip the tokens", check);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTruncated() {
+		/*
+		 * Unique words, all escaped, whose characters are far more frequent than the end of a word: past the end of
+		 * the bits, the zeros read there decode to the escape and then to a character, never to the end of the word.
+		 */
+		String[] separators = {" ", ",", ";", "."};
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++)
+			sb.append("zzzzzzzz").append(i).append(separators[i % 4]);
+		String words = sb.toString();
+		TokenHuffman code = new TokenHuffman(words);
+		PackedBits bits = code.encode(words);
+		int half = bits.getByteLength() / 2;
+		code.decode(new PackedBits(java.util.Arrays.copyOf(bits.getBytes(), half), half * 8L, bits.getSymbolCount()));
+	}
+
+	@Test
+	public void testSmallerThanCharacters() {
+		/* Zipf distributed words out of a vocabulary of 200000, most of them seen once or never. */
+		int vocabulary = 200000;
+		double[] cumulative = new double[vocabulary];
+		double total = 0;
+		for (int i = 0; i < vocabulary; i++)
+			cumulative[i] = total += 1.0 / (i + 1);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 300000; i++) {
+			int index = java.util.Arrays.binarySearch(cumulative, random.nextDouble() * total);
+			sb.append("w").append(Integer.toString(index < 0 ? -index - 1 : index, 36)).append(i % 12 == 11 ? ".\n" : " ");
+		}
+		String corpus = sb.toString();
+
+		TokenHuffman code = new TokenHuffman(corpus);
+		PackedBits words = code.encode(corpus);
+		PackedBits chars = HuffmanCoding.encode_packed(HuffmanCoding.huffman_code(HuffmanCoding.compute_fd(corpus),
+				CodeEngine.IN_PLACE), corpus);
+		boolean check = HuffmanCoding.compute_fd_tokens(corpus).size() > 50000
+				&& code.getVocabularySize() < HuffmanCoding.compute_fd_tokens(corpus).size()
+				&& code.decode(words).equals(corpus)
+				&& words.getByteLength() < chars.getByteLength();
+
+		assertTrue("Word level code isn't smaller than the character code", check);
+	}
+}